@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Cell;
+import models.MazeGrid;
+import models.SolveResult;
+import solver.MazeSolver;
+import solver.impl.MazeSolverRecursivoCompletoBT;
+
+/**
+ * Mide el recursivo con backtracking ("Recursivo Completo BT") solo en laberintos perfectos.
+ *
+ * En un laberinto perfecto hay un único camino simple entre dos celdas, así que el
+ * backtracking recorre cada celda un número acotado de veces. En una cuadrícula abierta
+ * enumera un número exponencial de caminos y la medición no terminaría.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BacktrackingBenchmark {
+
+    @Param({"51", "201", "1001", "4001"})
+    public int size;
+
+    @Param({"1", "2", "3"})
+    public long seed;
+
+    private MazeSolver mazeSolver;
+    private MazeGrid maze;
+    private Cell start;
+    private Cell end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mazeSolver = new MazeSolverRecursivoCompletoBT();
+        maze = MazeFixtures.build(MazeFixtures.MazeType.PERFECT, size, seed);
+        start = MazeFixtures.start();
+        end = MazeFixtures.end(maze);
+    }
+
+    @Benchmark
+    public SolveResult solve() {
+        return mazeSolver.solve(maze, start, end);
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import models.Cell;
+import models.CellState;
+import models.MazeGenerator;
+import models.MazeGrid;
+
+/**
+ * Construye los laberintos usados por las mediciones.
+ *
+ * La clase y MazeType son públicas porque las clases que genera JMH, en el paquete
+ * benchmarks.jmh_generated, necesitan nombrar el tipo de los parámetros.
+ */
+public final class MazeFixtures {
+
+    /**
+     * Tipos de laberinto medidos.
+     */
+    public enum MazeType {
+        /** Laberinto perfecto generado por MazeGenerator (un único camino entre dos celdas). */
+        PERFECT,
+        /** Cuadrícula abierta sin muros, como la que crea el editor por defecto. */
+        OPEN
+    }
+
+    private MazeFixtures() {
+    }
+
+    /**
+     * Crea un laberinto con inicio en (0,0) y fin en (size-1,size-1).
+     * La semilla solo afecta a los laberintos perfectos.
+     */
+    static MazeGrid build(MazeType type, int size, long seed) {
+        MazeGrid maze;
+        if (type == MazeType.PERFECT) {
+            maze = MazeGenerator.generateGrid(size, seed);
+        } else {
+            maze = new MazeGrid(size, size);
+            maze.setState(0, 0, CellState.START);
+            maze.setState(size - 1, size - 1, CellState.END);
+        }
+        return maze;
+    }
+
+    static Cell start() {
+        return new Cell(0, 0);
+    }
+
+    static Cell end(MazeGrid maze) {
+        return new Cell(maze.getRows() - 1, maze.getCols() - 1);
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Cell;
+import models.MazeGrid;
+import models.SolveResult;
+import solver.MazeSolver;
+import solver.impl.MazeSolverBFS;
+import solver.impl.MazeSolverBFSParalelo;
+
+/**
+ * Compara el BFS paralelo por niveles con distintos números de hilos contra el BFS
+ * secuencial original. El valor threads = 0 mide MazeSolverBFS como referencia.
+ *
+ * Solo se usan tamaños grandes: en laberintos pequeños las fronteras no alcanzan el
+ * umbral de paralelización y ambos algoritmos se comportan igual.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ParallelBfsBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1001", "4001"})
+    public int size;
+
+    @Param({"PERFECT", "OPEN"})
+    public MazeFixtures.MazeType mazeType;
+
+    private MazeSolver mazeSolver;
+    private MazeGrid maze;
+    private Cell start;
+    private Cell end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mazeSolver = threads == 0 ? new MazeSolverBFS() : new MazeSolverBFSParalelo(threads);
+        maze = MazeFixtures.build(mazeType, size, 1);
+        start = MazeFixtures.start();
+        end = MazeFixtures.end(maze);
+    }
+
+    @Benchmark
+    public SolveResult solve() {
+        return mazeSolver.solve(maze, start, end);
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de mediciones.
+ *
+ * Acepta las mismas opciones de línea de comandos que JMH (por ejemplo
+ * {@code -p size=201 -p solver=BFS}) y siempre activa el perfilador de GC, de modo que
+ * cada resultado incluye la tasa de asignación normalizada (gc.alloc.rate.norm) junto
+ * al rendimiento.
+ *
+ * Si no se indica {@code -p solver=...}, SolverBenchmark mide todos los algoritmos de
+ * MazeSolverFactory (SolverBenchmark.defaultSolvers()), de modo que un algoritmo nuevo se
+ * mide sin tocar este módulo.
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (!commandLine.getParameter("solver").hasValue()) {
+            builder.param("solver", SolverBenchmark.defaultSolvers());
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import models.SolveResult;
+import solver.MazeSolver;
+import solver.MazeSolverFactory;
+
+/**
+ * Mide cada algoritmo registrado en MazeSolverFactory sobre laberintos de distintos
+ * tamaños, tipos y semillas. El laberinto se construye una vez por combinación de
+ * parámetros y no se modifica durante la medición.
+ *
+ * Varios algoritmos guardan estado entre resoluciones según el sello de muros (campo de
+ * flujo, LPA*, árbol LCA, pasillos, HPA*, BFS Bits), así que repetir la misma consulta con
+ * la misma instancia mide un acierto de caché. solve() crea una instancia nueva en cada
+ * invocación y mide la resolución en frío, comparable entre todos los algoritmos;
+ * solveCached() reutiliza la instancia y mide la consulta repetida.
+ *
+ * RunBenchmarks toma la lista de "solver" de defaultSolvers(), es decir, de
+ * MazeSolverFactory; la lista de @Param es la misma y solo se usa al lanzar la clase desde
+ * otro ejecutor. "Recursivo Completo BT" no está: enumera todos los caminos simples y en las
+ * cuadrículas abiertas no termina; se mide aparte, solo en laberintos perfectos, en
+ * BacktrackingBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class SolverBenchmark {
+
+    /** Algoritmos registrados que no se miden aquí. */
+    static final List<String> EXCLUDED = Arrays.asList("Recursivo Completo BT");
+
+    @Param({"Recursivo", "Recursivo Completo",
+            "BFS", "BFS Indexado", "BFS Bidireccional", "BFS Paralelo", "BFS Bits", "DFS", "A*", "JPS",
+            "Dijkstra", "Campo de flujo", "LPA*", "Arbol LCA", "Pasillos", "HPA*"})
+    public String solver;
+
+    @Param({"51", "201", "1001", "4001"})
+    public int size;
+
+    @Param({"PERFECT", "OPEN"})
+    public MazeFixtures.MazeType mazeType;
+
+    @Param({"1", "2", "3"})
+    public long seed;
+
+    private MazeSolver mazeSolver;
+    private MazeGrid maze;
+    private Cell start;
+    private Cell end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mazeSolver = MazeSolverFactory.create(solver);
+        maze = MazeFixtures.build(mazeType, size, seed);
+        start = MazeFixtures.start();
+        end = MazeFixtures.end(maze);
+    }
+
+    /**
+     * @return Los algoritmos de MazeSolverFactory, en su orden, menos los de EXCLUDED.
+     */
+    static String[] defaultSolvers() {
+        List<String> names = new ArrayList<>(Arrays.asList(MazeSolverFactory.getAlgorithmNames()));
+        names.removeAll(EXCLUDED);
+        return names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public SolveResult solve() {
+        return MazeSolverFactory.create(solver).solve(maze, start, end);
+    }
+
+    @Benchmark
+    public SolveResult solveCached() {
+        return mazeSolver.solve(maze, start, end);
+    }
+}
@@ -0,0 +1,262 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dao.AlgorithmResultDAO;
+import dao.impl.AlgorithmResultDAOFile;
+import models.AlgorithmResult;
+import models.Cell;
+import models.CellState;
+import models.MazeGenerator;
+import models.MazeGrid;
+import models.SolveResult;
+import solver.MazeSolver;
+import solver.MazeSolverFactory;
+import solver.SolveOptions;
+
+/**
+ * Punto de entrada de línea de comandos para medir los algoritmos sin interfaz gráfica.
+ *
+ * Genera N laberintos con semilla por cada tamaño pedido, ejecuta cada algoritmo con
+ * repeticiones de calentamiento y de medición, y escribe los resultados como CSV en la
+ * salida estándar o, con {@code --output dao}, a través de AlgorithmResultDAO. No usa
+ * ninguna clase de AWT/Swing, por lo que funciona en servidores sin pantalla.
+ *
+ * Con {@code --timeout-ms} y {@code --max-nodes} cada resolución se detiene al alcanzar el
+ * límite; la columna termination indica si terminó (SOLVED, NO_PATH) o por qué se detuvo.
+ *
+ * Cada ejecución, de calentamiento o medida, usa una instancia nueva del algoritmo: los que
+ * guardan estado entre resoluciones (campo de flujo, LPA*, HPA*...) medirían si no un
+ * acierto de caché en lugar de una búsqueda, y no serían comparables con los demás.
+ *
+ * Ejemplo:
+ * <pre>
+ * java -cp maze-creator-1.0.0.jar MazeBatchApp --sizes 51,201,1001 --mazes 5 --solvers "BFS,A*,JPS"
+ * </pre>
+ */
+public class MazeBatchApp {
+
+    private static final String CSV_HEADER = "algorithm,mazeType,size,seed,rep,timeNs,pathLength,expandedNodes,termination";
+
+    private int[] sizes = {51, 201};
+    private int mazes = 3;
+    private long seed = 1;
+    private List<String> solvers = Arrays.asList(MazeSolverFactory.getAlgorithmNames());
+    private List<String> mazeTypes = Arrays.asList("perfect");
+    private int warmup = 2;
+    private int reps = 5;
+    private boolean useDao = false;
+    private final SolveOptions solveOptions = new SolveOptions();
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        MazeBatchApp app = new MazeBatchApp();
+        try {
+            app.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        }
+        app.run(System.out);
+    }
+
+    /**
+     * Lee las opciones de la línea de comandos.
+     * @param args Los argumentos recibidos por main.
+     * @throws IllegalArgumentException si una opción es desconocida o su valor no es válido.
+     */
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help")) {
+                printUsage(System.out);
+                System.exit(0);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--sizes": sizes = parseSizes(value); break;
+                    case "--mazes": mazes = parsePositive(option, value); break;
+                    case "--seed": seed = Long.parseLong(value); break;
+                    case "--solvers": solvers = parseSolvers(value); break;
+                    case "--types": mazeTypes = parseTypes(value); break;
+                    case "--warmup": warmup = Integer.parseInt(value); break;
+                    case "--reps": reps = parsePositive(option, value); break;
+                    case "--output": useDao = parseOutput(value); break;
+                    case "--timeout-ms": solveOptions.setTimeoutMillis(parsePositive(option, value)); break;
+                    case "--max-nodes": solveOptions.setMaxExpandedNodes(parsePositiveLong(option, value)); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor numérico no válido para " + option + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta todas las combinaciones configuradas.
+     * @param out Flujo donde se escribe el CSV.
+     */
+    private void run(PrintStream out) {
+        AlgorithmResultDAO resultDAO = useDao ? new AlgorithmResultDAOFile() : null;
+        if (!useDao) {
+            out.println(CSV_HEADER);
+        }
+
+        for (String mazeType : mazeTypes) {
+            for (int size : sizes) {
+                List<MazeGrid> grids = new ArrayList<>();
+                for (int m = 0; m < mazes; m++) {
+                    grids.add(buildMaze(mazeType, size, seed + m));
+                }
+                Cell start = new Cell(0, 0);
+                Cell end = new Cell(size - 1, size - 1);
+
+                for (String name : solvers) {
+                    long[] times = new long[mazes * reps];
+                    int[] pathLengths = new int[times.length];
+                    long[] expanded = new long[times.length];
+                    int measured = 0;
+
+                    for (int m = 0; m < mazes; m++) {
+                        MazeGrid maze = grids.get(m);
+                        for (int w = 0; w < warmup; w++) {
+                            MazeSolverFactory.create(name).solve(maze, start, end, solveOptions);
+                        }
+                        for (int rep = 0; rep < reps; rep++) {
+                            MazeSolver solver = MazeSolverFactory.create(name);
+                            long startTime = System.nanoTime();
+                            SolveResult result = solver.solve(maze, start, end, solveOptions);
+                            long elapsed = System.nanoTime() - startTime;
+                            times[measured] = elapsed;
+                            pathLengths[measured] = result.getSolutionPath().size();
+                            expanded[measured] = result.getExpandedNodes();
+                            measured++;
+                            if (!useDao) {
+                                out.println(name + "," + mazeType + "," + size + "," + (seed + m) + "," + rep + ","
+                                        + elapsed + "," + result.getSolutionPath().size() + "," + result.getExpandedNodes()
+                                        + "," + result.getTerminationReason());
+                            }
+                        }
+                    }
+
+                    if (useDao) {
+                        // Una fila por algoritmo, tipo y tamaño con la ejecución de tiempo mediano de
+                        // todas las repeticiones: camino y nodos son los de esa misma ejecución.
+                        int median = medianRun(times);
+                        String label = name + " [" + mazeType + " " + size + "]";
+                        resultDAO.saveOrUpdate(new AlgorithmResult(label, times[median],
+                                pathLengths[median], expanded[median]));
+                    }
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @return La posición de la ejecución cuyo tiempo es la mediana (la superior si hay un
+     * número par de ejecuciones).
+     */
+    private static int medianRun(long[] times) {
+        Integer[] order = new Integer[times.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+        return order[order.length / 2];
+    }
+
+    /**
+     * Crea un laberinto perfecto con semilla o una cuadrícula abierta, con inicio en (0,0)
+     * y fin en (size-1,size-1).
+     */
+    private MazeGrid buildMaze(String mazeType, int size, long mazeSeed) {
+        if (mazeType.equals("perfect")) {
+            return MazeGenerator.generateGrid(size, mazeSeed);
+        }
+        MazeGrid maze = new MazeGrid(size, size);
+        maze.setState(0, 0, CellState.START);
+        maze.setState(size - 1, size - 1, CellState.END);
+        return maze;
+    }
+
+    private static int[] parseSizes(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = parsePositive("--sizes", parts[i].trim());
+            if (result[i] < 2) {
+                throw new IllegalArgumentException("El tamaño mínimo es 2: " + parts[i]);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> parseSolvers(String value) {
+        List<String> known = Arrays.asList(MazeSolverFactory.getAlgorithmNames());
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String name = part.trim();
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Algoritmo desconocido: " + name);
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    private static List<String> parseTypes(String value) {
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String type = part.trim().toLowerCase();
+            if (!type.equals("perfect") && !type.equals("open")) {
+                throw new IllegalArgumentException("Tipo de laberinto desconocido: " + part);
+            }
+            result.add(type);
+        }
+        return result;
+    }
+
+    private static boolean parseOutput(String value) {
+        if (value.equals("csv")) return false;
+        if (value.equals("dao")) return true;
+        throw new IllegalArgumentException("Salida desconocida: " + value);
+    }
+
+    private static int parsePositive(String option, String value) {
+        int number = Integer.parseInt(value);
+        if (number <= 0) {
+            throw new IllegalArgumentException(option + " debe ser mayor que 0: " + value);
+        }
+        return number;
+    }
+
+    private static long parsePositiveLong(String option, String value) {
+        long number = Long.parseLong(value);
+        if (number <= 0) {
+            throw new IllegalArgumentException(option + " debe ser mayor que 0: " + value);
+        }
+        return number;
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Uso: java -cp maze-creator-1.0.0.jar MazeBatchApp [opciones]");
+        out.println("  --sizes 51,201       Tamaños de laberinto (ancho = alto)");
+        out.println("  --mazes 3            Laberintos por tamaño (semillas seed, seed+1, ...)");
+        out.println("  --seed 1             Semilla inicial");
+        out.println("  --solvers \"BFS,A*\"   Algoritmos a medir (por defecto, todos)");
+        out.println("  --types perfect,open Tipos de laberinto (por defecto, perfect)");
+        out.println("  --warmup 2           Ejecuciones de calentamiento por laberinto");
+        out.println("  --reps 5             Ejecuciones medidas por laberinto");
+        out.println("  --output csv|dao     CSV por la salida estándar o resumen en results.csv");
+        out.println("  --timeout-ms N       Tiempo límite por resolución (por defecto, sin límite)");
+        out.println("  --max-nodes N        Máximo de nodos expandidos por resolución (por defecto, sin límite)");
+    }
+}
@@ -7,11 +7,17 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JEditorPane;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.event.HyperlinkEvent;
 
@@ -20,13 +26,20 @@ import dao.impl.AlgorithmResultDAOFile;
 import models.AlgorithmResult;
 import models.Cell;
 import models.CellState;
+import models.ExplorationTrace;
+import models.MazeGrid;
 import models.SolveResult;
+import models.TerminationReason;
+import solver.CancellationToken;
+import solver.ConnectivityIndex;
+import solver.MazeEditListener;
 import solver.MazeSolver;
-import solver.impl.MazeSolverBFS;
-import solver.impl.MazeSolverDFS;
-import solver.impl.MazeSolverRecursivo;
-import solver.impl.MazeSolverRecursivoCompleto;
-import solver.impl.MazeSolverRecursivoCompletoBT;
+import solver.MazeSolverFactory;
+import solver.SolutionCache;
+import solver.SolveOptions;
+import solver.SolverRace;
+import solver.SolverStepper;
+import solver.SteppableSolver;
 import views.MazeFrame;
 import views.ResultsChart;
 import views.ResultsDialog;
@@ -37,17 +50,33 @@ import views.ResultsDialog;
 public class MazeController extends MouseAdapter implements ActionListener {
 
     private MazeFrame view;
-    private Cell[][] mazeModel;
+    private MazeGrid mazeModel;
     private Cell startCell, endCell;
     private AlgorithmResultDAO resultDAO;
     private Timer animationTimer;
     private ResultsDialog resultsDialog;
 
-    private enum EditMode { SET_START, SET_END, TOGGLE_WALL }
+    // Resolución en segundo plano: el trabajador en curso y su señal de cancelación.
+    private SwingWorker<?, ?> solveWorker;
+    private CancellationToken solveToken;
+
+    /** Tiempo máximo de una resolución desde la interfaz, para que un algoritmo exponencial no la bloquee. */
+    private static final long SOLVE_TIMEOUT_MS = 30_000;
+
+    /** Memoria máxima de los resultados guardados para repetir "Resolver" sin volver a buscar. */
+    private static final long SOLUTION_CACHE_BYTES = 64L << 20;
+    private final SolutionCache solutionCache = new SolutionCache(SOLUTION_CACHE_BYTES);
+
+    // Componentes conexas del tablero, para descartar sin buscar un inicio y un fin incomunicados.
+    private final ConnectivityIndex connectivity = new ConnectivityIndex();
+
+    private enum EditMode { SET_START, SET_END, TOGGLE_WALL, SET_COST }
     private EditMode currentEditMode = EditMode.TOGGLE_WALL;
 
-    private SolveResult stepByStepResult;
-    private int currentExplorationStep = 0;
+    // Las instancias se reutilizan para que los algoritmos con estado (campo de flujo, LPA*) lo aprovechen.
+    private final Map<String, MazeSolver> solvers = new HashMap<>();
+
+    private SolverStepper stepper;
     private int currentSolutionStep = 0;
     private boolean isExploringStepByStep = true;
 
@@ -72,14 +101,21 @@ public class MazeController extends MouseAdapter implements ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         String command = e.getActionCommand();
+        if (command.equals("Cancelar")) {
+            cancelSolve();
+            return;
+        }
+        if (isSolving()) return;
         if (animationTimer != null && animationTimer.isRunning()) return;
 
         switch (command) {
             case "Set Start": currentEditMode = EditMode.SET_START; break;
             case "Set End": currentEditMode = EditMode.SET_END; break;
             case "Toggle Wall": currentEditMode = EditMode.TOGGLE_WALL; break;
+            case "Set Cost": currentEditMode = EditMode.SET_COST; break;
             case "Resolver": solveMazeAnimated(); break;
             case "Paso a paso": executeStep(); break;
+            case "Comparar todos": raceAllSolvers(); break;
             case "Limpiar": clearBoard(); break;
             case "Nuevo laberinto": createNewMaze(); break;
             case "Ver resultados": showResults(); break;
@@ -95,62 +131,263 @@ public class MazeController extends MouseAdapter implements ActionListener {
      */
     @Override
     public void mousePressed(MouseEvent e) {
+        // Mientras se resuelve, el tablero no se edita: el resultado debe corresponder a lo que se ve.
+        if (isSolving()) return;
         if (animationTimer != null && animationTimer.isRunning()) return;
         int col = view.getMazePanel().getColFromX(e.getX());
         int row = view.getMazePanel().getRowFromY(e.getY());
 
-        if (row < 0 || row >= mazeModel.length || col < 0 || col >= mazeModel[0].length) return;
+        if (!mazeModel.isInside(row, col)) return;
 
-        Cell clickedCell = mazeModel[row][col];
+        CellState clickedState = mazeModel.getState(row, col);
+        long wallStamp = mazeModel.getWallStamp();
         switch (currentEditMode) {
             case SET_START:
-                if (startCell != null) startCell.setState(CellState.PATH);
-                startCell = clickedCell;
-                startCell.setState(CellState.START);
+                if (startCell != null) mazeModel.setState(startCell.getRow(), startCell.getCol(), CellState.PATH);
+                startCell = new Cell(row, col);
+                mazeModel.setState(row, col, CellState.START);
                 break;
             case SET_END:
-                if (endCell != null) endCell.setState(CellState.PATH);
-                endCell = clickedCell;
-                endCell.setState(CellState.END);
+                if (endCell != null) mazeModel.setState(endCell.getRow(), endCell.getCol(), CellState.PATH);
+                endCell = new Cell(row, col);
+                mazeModel.setState(row, col, CellState.END);
                 break;
             case TOGGLE_WALL:
-                if (clickedCell.getState() == CellState.PATH) clickedCell.setState(CellState.WALL);
-                else if (clickedCell.getState() == CellState.WALL) clickedCell.setState(CellState.PATH);
+                if (clickedState == CellState.PATH) mazeModel.setState(row, col, CellState.WALL);
+                else if (clickedState == CellState.WALL) mazeModel.setState(row, col, CellState.PATH);
+                break;
+            case SET_COST:
+                // El costo se conserva aunque la celda pase a ser muro, pero solo se edita en celdas libres.
+                if (clickedState != CellState.WALL) mazeModel.setCost(row, col, view.getSelectedCost());
                 break;
         }
+        // Un clic cambia como mucho un muro: la celda pulsada (también al poner inicio o fin sobre un muro).
+        if (mazeModel.getWallStamp() != wallStamp) {
+            notifyWallChanged(mazeModel.index(row, col), wallStamp);
+        }
         view.getMazePanel().repaint();
     }
 
+    /**
+     * Avisa del cambio de un muro a los algoritmos instanciados que conservan estado entre resoluciones.
+     */
+    private void notifyWallChanged(int index, long previousWallStamp) {
+        connectivity.wallChanged(mazeModel, index, previousWallStamp);
+        for (MazeSolver solver : solvers.values()) {
+            if (solver instanceof MazeEditListener) {
+                ((MazeEditListener) solver).wallChanged(mazeModel, index, previousWallStamp);
+            }
+        }
+    }
+
+    /**
+     * Resuelve el laberinto en segundo plano sobre una copia del tablero, informando el
+     * progreso en la barra de estado, y al terminar anima la exploración y la solución.
+     */
     private void solveMazeAnimated() {
         if (startCell == null || endCell == null) {
             JOptionPane.showMessageDialog(view, "Por favor, establece un punto de inicio y un punto final.", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
         clearSolution();
-        
+        if (rejectDisconnected()) return;
+
         String selectedAlgorithm = view.getSelectedAlgorithm();
+        SolveResult cached = solutionCache.get(selectedAlgorithm, mazeModel, startCell, endCell);
+        if (cached != null) {
+            // Mismo algoritmo, muros, inicio y fin: se repite la animación sin buscar ni medir.
+            view.setStatus(cached.getExpandedNodes() + " nodos expandidos (resultado en caché)");
+            playResult(cached, () -> { });
+            return;
+        }
         MazeSolver solver = getSolverForName(selectedAlgorithm);
+        MazeGrid snapshot = mazeModel.copy();
+        Cell start = startCell;
+        Cell end = endCell;
+        CancellationToken token = new CancellationToken();
+        SolveOptions options = createSolveOptions(token);
+
+        SwingWorker<SolveResult, Long> worker = new SwingWorker<SolveResult, Long>() {
+            private long elapsedTime;
+
+            @Override
+            protected SolveResult doInBackground() {
+                token.setProgressListener(expandedNodes -> publish(expandedNodes));
+                long startTime = System.nanoTime();
+                SolveResult result = solver.solve(snapshot, start, end, options);
+                elapsedTime = System.nanoTime() - startTime;
+                return result;
+            }
+
+            @Override
+            protected void process(List<Long> progress) {
+                view.setStatus("Explorando... " + progress.get(progress.size() - 1) + " nodos");
+            }
+
+            @Override
+            protected void done() {
+                SolveResult result = finishSolve(this);
+                if (result == null) return;
+                solutionCache.put(selectedAlgorithm, snapshot, start, end, result);
+                view.setStatus(result.getExpandedNodes() + " nodos expandidos");
+                playResult(result, () -> resultDAO.saveOrUpdate(new AlgorithmResult(selectedAlgorithm, elapsedTime, result.getSolutionPath().size(), result.getExpandedNodes(), snapshot.pathCost(result.getSolutionPath()))));
+            }
+        };
+        startSolve(worker, token, "Resolviendo con " + selectedAlgorithm + "...");
+    }
+
+    /**
+     * Ejecuta todos los algoritmos a la vez sobre una copia del laberinto, en segundo plano,
+     * y guarda sus resultados con una sola escritura del DAO.
+     */
+    private void raceAllSolvers() {
+        if (startCell == null || endCell == null) {
+            JOptionPane.showMessageDialog(view, "Por favor, establece un punto de inicio y un punto final.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        clearSolution();
+        if (rejectDisconnected()) return;
+
+        MazeGrid snapshot = mazeModel.copy();
+        Cell start = startCell;
+        Cell end = endCell;
+        CancellationToken token = new CancellationToken();
+        SolveOptions options = createSolveOptions(token);
+
+        SwingWorker<List<SolverRace.Entry>, Void> worker = new SwingWorker<List<SolverRace.Entry>, Void>() {
+            @Override
+            protected List<SolverRace.Entry> doInBackground() {
+                return new SolverRace().run(snapshot, start, end, options);
+            }
+
+            @Override
+            protected void done() {
+                List<SolverRace.Entry> entries = finishSolve(this);
+                if (entries == null) return;
+                view.setStatus(" ");
+
+                List<AlgorithmResult> solved = new ArrayList<>();
+                for (SolverRace.Entry entry : entries) {
+                    if (entry.getSolveResult().isSolutionFound()) {
+                        solved.add(entry.getAlgorithmResult());
+                    }
+                }
+                if (solved.isEmpty()) {
+                    JOptionPane.showMessageDialog(view, "No se encontró una solución.", "Resultado", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                resultDAO.saveAll(solved);
+                showResults();
+            }
+        };
+        startSolve(worker, token, "Comparando algoritmos...");
+    }
+
+    /**
+     * Si el inicio y el fin están en componentes distintas, ningún algoritmo encontraría camino:
+     * se informa al momento en lugar de explorar toda la región alcanzable.
+     * @return true si la resolución se descartó.
+     */
+    private boolean rejectDisconnected() {
+        if (connectivity.isConnected(mazeModel, startCell, endCell)) {
+            return false;
+        }
+        view.setStatus("El inicio y el fin no están conectados.");
+        JOptionPane.showMessageDialog(view, "No se encontró una solución.", "Resultado", JOptionPane.INFORMATION_MESSAGE);
+        return true;
+    }
+
+    /**
+     * Hay una resolución en curso desde startSolve() hasta que su done() llama a finishSolve().
+     */
+    private boolean isSolving() {
+        return solveWorker != null;
+    }
+
+    private SolveOptions createSolveOptions(CancellationToken token) {
+        SolveOptions options = new SolveOptions();
+        options.setCancellationToken(token);
+        options.setTimeoutMillis(SOLVE_TIMEOUT_MS);
+        return options;
+    }
+
+    /**
+     * Explica al usuario por qué una resolución terminó sin solución.
+     */
+    private String describeTermination(TerminationReason reason) {
+        switch (reason) {
+            case DEADLINE: return "Se agotó el tiempo límite (" + SOLVE_TIMEOUT_MS / 1000 + " s) sin encontrar una solución.";
+            case NODE_BUDGET: return "Se alcanzó el máximo de nodos expandidos sin encontrar una solución.";
+            case MEMORY: return "Se alcanzó el límite de memoria sin encontrar una solución.";
+            case CANCELLED: return "La resolución fue cancelada.";
+            default: return "No se encontró una solución.";
+        }
+    }
+
+    private void startSolve(SwingWorker<?, ?> worker, CancellationToken token, String status) {
+        solveWorker = worker;
+        solveToken = token;
+        view.setBusy(true);
+        view.setStatus(status);
+        worker.execute();
+    }
+
+    private void cancelSolve() {
+        if (isSolving()) {
+            solveToken.cancel();
+            view.setStatus("Cancelando...");
+        }
+    }
 
-        long startTime = System.nanoTime();
-        SolveResult result = solver.solve(mazeModel, startCell, endCell);
-        long endTime = System.nanoTime();
+    /**
+     * Restablece los controles al terminar un trabajo en segundo plano y obtiene su resultado.
+     * @return El resultado del trabajo, o null si se canceló o falló (ya se informó al usuario).
+     */
+    private <T> T finishSolve(SwingWorker<T, ?> worker) {
+        view.setBusy(false);
+        boolean cancelled = solveToken.isCancelled();
+        solveWorker = null;
+        solveToken = null;
+        if (cancelled) {
+            view.setStatus("Resolución cancelada.");
+            return null;
+        }
+        try {
+            return worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            view.setStatus(" ");
+            JOptionPane.showMessageDialog(view, "Error al resolver: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
 
-        animateExploration(result.getExploredCells(), () -> {
+    /**
+     * Anima la exploración y, si hubo solución, el camino; si no, explica el motivo.
+     * @param onSolved Se ejecuta cuando empieza la animación del camino.
+     */
+    private void playResult(SolveResult result, Runnable onSolved) {
+        animateExploration(result, () -> {
             if (result.isSolutionFound()) {
                 animateSolution(result.getSolutionPath());
-                resultDAO.saveOrUpdate(new AlgorithmResult(selectedAlgorithm, (endTime - startTime), result.getSolutionPath().size()));
+                onSolved.run();
             } else {
-                JOptionPane.showMessageDialog(view, "No se encontró una solución.", "Resultado", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(view, describeTermination(result.getTerminationReason()), "Resultado", JOptionPane.INFORMATION_MESSAGE);
             }
         });
     }
 
-    private void animateExploration(List<Cell> explored, Runnable onFinish) {
-        final int[] index = {0};
+    private void animateExploration(SolveResult result, Runnable onFinish) {
+        ExplorationTrace trace = result.getExplorationTrace();
+        if (trace == null) {
+            trace = ExplorationTrace.fromCells(result.getExploredCells(), mazeModel.getCols());
+        }
+        PrimitiveIterator.OfInt explored = trace.iterator();
         animationTimer = new Timer(20, e -> {
-            if (index[0] < explored.size()) {
-                Cell cell = explored.get(index[0]++);
-                if (cell.getState() == CellState.PATH) cell.setState(CellState.VISITED);
+            if (explored.hasNext()) {
+                markCell(mazeModel.cellAt(explored.nextInt()), CellState.VISITED);
                 view.getMazePanel().repaint();
             } else {
                 ((Timer) e.getSource()).stop();
@@ -165,9 +402,7 @@ public class MazeController extends MouseAdapter implements ActionListener {
         animationTimer = new Timer(50, e -> {
             if (index[0] < solution.size()) {
                 Cell cell = solution.get(index[0]++);
-                if (cell.getState() != CellState.START && cell.getState() != CellState.END) {
-                    cell.setState(CellState.SOLUTION);
-                }
+                markCell(cell, CellState.SOLUTION);
                 view.getMazePanel().repaint();
             } else {
                 ((Timer) e.getSource()).stop();
@@ -176,65 +411,80 @@ public class MazeController extends MouseAdapter implements ActionListener {
         animationTimer.start();
     }
 
+    /**
+     * Avanza un paso del modo "Paso a paso". La búsqueda se crea en el primer clic y
+     * avanza una celda por clic, sin resolver el laberinto completo por adelantado.
+     */
     private void executeStep() {
-        if (stepByStepResult == null) {
+        if (stepper == null) {
             if (startCell == null || endCell == null) {
                 JOptionPane.showMessageDialog(view, "Establece inicio y fin primero.", "Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
             clearSolution();
             MazeSolver solver = getSolverForName(view.getSelectedAlgorithm());
-            stepByStepResult = solver.solve(mazeModel, startCell, endCell);
+            if (!(solver instanceof SteppableSolver)) {
+                JOptionPane.showMessageDialog(view, "Este algoritmo no admite el modo paso a paso.", "Paso a paso", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            // La búsqueda trabaja sobre una copia: editar el tablero entre pasos no la altera.
+            stepper = ((SteppableSolver) solver).start(mazeModel.copy(), startCell, endCell);
         }
 
         if (isExploringStepByStep) {
-            if (currentExplorationStep < stepByStepResult.getExploredCells().size()) {
-                Cell cell = stepByStepResult.getExploredCells().get(currentExplorationStep++);
-                if (cell.getState() == CellState.PATH) cell.setState(CellState.VISITED);
+            int cell = stepper.next();
+            if (cell != SolverStepper.FINISHED) {
+                markCell(mazeModel.cellAt(cell), CellState.VISITED);
                 view.getMazePanel().repaint();
             } else {
                 isExploringStepByStep = false;
-                if (!stepByStepResult.isSolutionFound()) {
+                if (!stepper.isSolutionFound()) {
                     JOptionPane.showMessageDialog(view, "Exploración completada. No se encontró solución.", "Paso a paso", JOptionPane.INFORMATION_MESSAGE);
                 }
             }
-        } else if (stepByStepResult.isSolutionFound()) {
-            if (currentSolutionStep < stepByStepResult.getSolutionPath().size()) {
-                Cell cell = stepByStepResult.getSolutionPath().get(currentSolutionStep++);
-                if (cell.getState() != CellState.START && cell.getState() != CellState.END) {
-                    cell.setState(CellState.SOLUTION);
-                }
+        } else if (stepper.isSolutionFound()) {
+            if (currentSolutionStep < stepper.getSolutionPath().size()) {
+                Cell cell = stepper.getSolutionPath().get(currentSolutionStep++);
+                markCell(cell, CellState.SOLUTION);
                 view.getMazePanel().repaint();
             } else {
                 JOptionPane.showMessageDialog(view, "Paso a paso completado.", "Paso a paso", JOptionPane.INFORMATION_MESSAGE);
             }
         }
     }
+
+    /**
+     * Pinta una celda del modelo como visitada o parte de la solución.
+     * Las celdas de inicio y fin conservan su estado.
+     * @param cell La posición de la celda a marcar.
+     * @param state VISITED o SOLUTION.
+     */
+    private void markCell(Cell cell, CellState state) {
+        CellState current = mazeModel.getState(cell.getRow(), cell.getCol());
+        if (state == CellState.VISITED && current != CellState.PATH) return;
+        if (current == CellState.START || current == CellState.END) return;
+        mazeModel.setState(cell.getRow(), cell.getCol(), state);
+    }
     
     private void clearBoard() {
         if (animationTimer != null && animationTimer.isRunning()) animationTimer.stop();
         startCell = null;
         endCell = null;
-        for (Cell[] row : mazeModel) {
-            for (Cell cell : row) {
-                cell.setState(CellState.PATH);
-            }
-        }
+        mazeModel.fill(CellState.PATH);
+        mazeModel.resetCosts();
         clearSolution();
     }
 
     private void clearSolution() {
-        currentExplorationStep = 0;
         currentSolutionStep = 0;
-        stepByStepResult = null;
-        isExploringStepByStep = true;
-        for (Cell[] row : mazeModel) {
-            for (Cell cell : row) {
-                if (cell.getState() == CellState.SOLUTION || cell.getState() == CellState.VISITED) {
-                    cell.setState(CellState.PATH);
-                }
-            }
+        if (stepper != null) {
+            // Una búsqueda paso a paso abandonada devuelve su espacio de trabajo.
+            stepper.close();
+            stepper = null;
         }
+        isExploringStepByStep = true;
+        mazeModel.replaceState(CellState.SOLUTION, CellState.PATH);
+        mazeModel.replaceState(CellState.VISITED, CellState.PATH);
         view.getMazePanel().repaint();
     }
 
@@ -271,13 +521,7 @@ public class MazeController extends MouseAdapter implements ActionListener {
     }
     
     private MazeSolver getSolverForName(String name) {
-        switch (name) {
-            case "BFS": return new MazeSolverBFS();
-            case "DFS": return new MazeSolverDFS();
-            case "Recursivo": return new MazeSolverRecursivo();
-            case "Recursivo Completo": return new MazeSolverRecursivoCompleto();
-            case "Recursivo Completo BT": default: return new MazeSolverRecursivoCompletoBT();
-        }
+        return solvers.computeIfAbsent(name, MazeSolverFactory::create);
     }
     private void createNewMaze() {
         view.dispose();
@@ -319,14 +563,8 @@ public class MazeController extends MouseAdapter implements ActionListener {
 
         JOptionPane.showMessageDialog(view, editorPane, "Acerca de Maze Creator", JOptionPane.INFORMATION_MESSAGE);
     }
-    private Cell[][] createEmptyMaze(int rows, int cols) {
-        Cell[][] maze = new Cell[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                maze[i][j] = new Cell(i, j);
-            }
-        }
-        return maze;
+    private MazeGrid createEmptyMaze(int rows, int cols) {
+        return new MazeGrid(rows, cols);
     }
     private int askForDimension(String dimensionName) {
         String input;
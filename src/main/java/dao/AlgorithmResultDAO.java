@@ -21,6 +21,15 @@ public interface AlgorithmResultDAO {
      */
     void saveOrUpdate(AlgorithmResult result);
 
+    /**
+     * Guarda o actualiza varios resultados en una sola operación.
+     * Equivale a llamar a saveOrUpdate por cada resultado, pero permite a la
+     * implementación escribir el almacenamiento una única vez.
+     *
+     * @param results Los resultados a guardar o actualizar.
+     */
+    void saveAll(List<AlgorithmResult> results);
+
     /**
      * Recupera todos los resultados almacenados.
      *
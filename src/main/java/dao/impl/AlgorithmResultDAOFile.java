@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,11 @@ public class AlgorithmResultDAOFile implements AlgorithmResultDAO {
 
     @Override
     public void saveOrUpdate(AlgorithmResult result) {
+        saveAll(Collections.singletonList(result));
+    }
+
+    @Override
+    public void saveAll(List<AlgorithmResult> results) {
         // Usamos LinkedHashMap para mantener el orden de inserción.
         Map<String, AlgorithmResult> resultsMap = new LinkedHashMap<>();
         
@@ -47,8 +53,10 @@ public class AlgorithmResultDAOFile implements AlgorithmResultDAO {
             resultsMap.put(existingResult.getAlgorithmName(), existingResult);
         }
 
-        // 2. Añadir o actualizar el nuevo resultado en el mapa.
-        resultsMap.put(result.getAlgorithmName(), result);
+        // 2. Añadir o actualizar los nuevos resultados en el mapa.
+        for (AlgorithmResult result : results) {
+            resultsMap.put(result.getAlgorithmName(), result);
+        }
 
         // 3. Escribir el contenido completo del mapa de vuelta al archivo.
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, false))) { 
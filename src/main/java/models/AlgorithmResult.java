@@ -2,8 +2,8 @@ package models;
 
 /**
  * Clase que encapsula el resultado de la ejecución de un algoritmo de resolución.
- * Almacena el nombre del algoritmo, el tiempo que tardó en ejecutarse y la
- * longitud del camino encontrado.
+ * Almacena el nombre del algoritmo, el tiempo que tardó en ejecutarse, la
+ * longitud del camino encontrado y su costo según los costos de paso de las celdas.
  * Esta clase es un "POJO" (Plain Old Java Object) o una clase de datos simple.
  */
 public class AlgorithmResult {
@@ -11,6 +11,8 @@ public class AlgorithmResult {
     private String algorithmName;
     private long executionTime; // Se recomienda almacenar en nanosegundos para mayor precisión.
     private int pathLength;
+    private long pathCost;
+    private long expandedNodes;
 
     /**
      * Constructor para crear un nuevo resultado.
@@ -19,9 +21,41 @@ public class AlgorithmResult {
      * @param pathLength El número de celdas en la ruta de la solución.
      */
     public AlgorithmResult(String algorithmName, long executionTime, int pathLength) {
+        this(algorithmName, executionTime, pathLength, 0);
+    }
+
+    /**
+     * Constructor para crear un nuevo resultado con el número de nodos expandidos.
+     * @param algorithmName El nombre del algoritmo (ej. "BFS", "DFS").
+     * @param executionTime El tiempo de ejecución.
+     * @param pathLength El número de celdas en la ruta de la solución.
+     * @param expandedNodes El número de celdas expandidas durante la búsqueda.
+     */
+    public AlgorithmResult(String algorithmName, long executionTime, int pathLength, long expandedNodes) {
+        this(algorithmName, executionTime, pathLength, expandedNodes, unitCost(pathLength));
+    }
+
+    /**
+     * Constructor para crear un nuevo resultado con el costo del camino.
+     * @param algorithmName El nombre del algoritmo (ej. "BFS", "DFS").
+     * @param executionTime El tiempo de ejecución.
+     * @param pathLength El número de celdas en la ruta de la solución.
+     * @param expandedNodes El número de celdas expandidas durante la búsqueda.
+     * @param pathCost La suma de los costos de las celdas en las que entra la ruta.
+     */
+    public AlgorithmResult(String algorithmName, long executionTime, int pathLength, long expandedNodes, long pathCost) {
         this.algorithmName = algorithmName;
         this.executionTime = executionTime;
         this.pathLength = pathLength;
+        this.expandedNodes = expandedNodes;
+        this.pathCost = pathCost;
+    }
+
+    /**
+     * Costo de una ruta cuando todas las celdas cuestan 1: uno por paso.
+     */
+    private static long unitCost(int pathLength) {
+        return Math.max(0, pathLength - 1);
     }
 
     // --- Getters y Setters ---
@@ -50,29 +84,49 @@ public class AlgorithmResult {
         this.pathLength = pathLength;
     }
 
+    public long getPathCost() {
+        return pathCost;
+    }
+
+    public void setPathCost(long pathCost) {
+        this.pathCost = pathCost;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public void setExpandedNodes(long expandedNodes) {
+        this.expandedNodes = expandedNodes;
+    }
+
     /**
      * Convierte los datos del resultado en una fila de texto para un archivo CSV.
-     * @return Un String con los valores separados por comas. Ej: "BFS,52341,32"
+     * @return Un String con los valores separados por comas. Ej: "BFS,52341,32,120,31"
      */
     public String toCsvRow() {
-        return algorithmName + "," + executionTime + "," + pathLength;
+        return algorithmName + "," + executionTime + "," + pathLength + "," + expandedNodes + "," + pathCost;
     }
 
     /**
      * Crea un objeto AlgorithmResult a partir de una línea de un archivo CSV.
      * Este método estático es útil para la capa DAO al leer el archivo.
+     * Acepta también las filas antiguas de 3 columnas (sin nodos expandidos) y de 4 (sin
+     * costo); estas se guardaron sin costos de paso, así que su costo es uno por paso.
      * @param csvRow La línea de texto del archivo CSV.
      * @return Un nuevo objeto AlgorithmResult.
      * @throws IllegalArgumentException si la fila no tiene el formato correcto.
      */
     public static AlgorithmResult fromCsvRow(String csvRow) {
         String[] parts = csvRow.split(",");
-        if (parts.length != 3) {
+        if (parts.length < 3 || parts.length > 5) {
             throw new IllegalArgumentException("La fila del CSV no es válida: " + csvRow);
         }
         String name = parts[0];
         long time = Long.parseLong(parts[1]);
         int length = Integer.parseInt(parts[2]);
-        return new AlgorithmResult(name, time, length);
+        long expanded = parts.length >= 4 ? Long.parseLong(parts[3]) : 0;
+        long cost = parts.length == 5 ? Long.parseLong(parts[4]) : unitCost(length);
+        return new AlgorithmResult(name, time, length, expanded, cost);
     }
 }
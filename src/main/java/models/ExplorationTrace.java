@@ -0,0 +1,177 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Registro compacto del orden de exploración de una búsqueda.
+ *
+ * Guarda los índices de celda (fila * columnas + columna) en un arreglo int[] que crece
+ * según se necesite, es decir, 4 bytes por celda en lugar de una referencia más un objeto
+ * Cell. Además del registro completo admite dos modos de memoria acotada:
+ * <ul>
+ *   <li>SAMPLED: guarda solo una de cada k celdas (la primera, la k+1, ...).</li>
+ *   <li>LAST: guarda solo las últimas n celdas en un búfer circular.</li>
+ * </ul>
+ * En todos los modos getRecordedCount() cuenta todas las celdas registradas, se hayan
+ * guardado o no.
+ */
+public class ExplorationTrace {
+
+    /**
+     * Modo de registro de la traza.
+     */
+    public enum Mode { FULL, SAMPLED, LAST }
+
+    private final Mode mode;
+    private final int parameter;
+    private int[] cells;
+    private int size;
+    private int head;
+    private long recordedCount;
+
+    /**
+     * Crea una traza que guarda todas las celdas.
+     */
+    public ExplorationTrace() {
+        this(Mode.FULL, 0);
+    }
+
+    /**
+     * Crea una traza con el modo indicado.
+     * @param mode El modo de registro.
+     * @param parameter k para SAMPLED, n para LAST; se ignora en FULL.
+     * @throws IllegalArgumentException si el parámetro no es positivo en SAMPLED o LAST.
+     */
+    public ExplorationTrace(Mode mode, int parameter) {
+        if (mode != Mode.FULL && parameter <= 0) {
+            throw new IllegalArgumentException("El parámetro de la traza debe ser positivo: " + parameter);
+        }
+        this.mode = mode;
+        this.parameter = parameter;
+        this.cells = new int[mode == Mode.LAST ? parameter : 16];
+    }
+
+    /**
+     * Crea una traza completa a partir de una lista de celdas.
+     * @param explored Las celdas en orden de exploración.
+     * @param cols El número de columnas de la cuadrícula.
+     * @return Una traza FULL con los índices de las celdas.
+     */
+    public static ExplorationTrace fromCells(List<Cell> explored, int cols) {
+        ExplorationTrace trace = new ExplorationTrace();
+        trace.cells = new int[Math.max(explored.size(), 1)];
+        for (Cell cell : explored) {
+            trace.add(cell.getRow() * cols + cell.getCol());
+        }
+        return trace;
+    }
+
+    /**
+     * Registra la siguiente celda explorada.
+     * @param cell El índice de la celda.
+     */
+    public void add(int cell) {
+        long position = recordedCount++;
+        switch (mode) {
+            case FULL:
+                append(cell);
+                break;
+            case SAMPLED:
+                if (position % parameter == 0) {
+                    append(cell);
+                }
+                break;
+            case LAST:
+                cells[head] = cell;
+                head = head + 1 == parameter ? 0 : head + 1;
+                if (size < parameter) {
+                    size++;
+                }
+                break;
+        }
+    }
+
+    private void append(int cell) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size + (size >> 1) + 1);
+        }
+        cells[size++] = cell;
+    }
+
+    /**
+     * @return El número de celdas guardadas (las que devuelve el iterador).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return El número total de celdas registradas, incluidas las descartadas por el modo.
+     */
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    /**
+     * @return La memoria aproximada que ocupa el arreglo de la traza, en bytes.
+     */
+    public long getMemoryBytes() {
+        return 4L * cells.length;
+    }
+
+    /**
+     * Obtiene la i-ésima celda guardada, en orden de exploración.
+     * @param i La posición, entre 0 y size() - 1.
+     * @return El índice de la celda.
+     */
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de la traza de tamaño " + size);
+        }
+        if (mode != Mode.LAST || size < parameter) {
+            return cells[i];
+        }
+        int slot = head + i;
+        return cells[slot >= parameter ? slot - parameter : slot];
+    }
+
+    /**
+     * @return Un iterador sin boxing sobre las celdas guardadas, en orden de exploración.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (position >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(position++);
+            }
+        };
+    }
+
+    /**
+     * @return Una copia de las celdas guardadas, en orden de exploración.
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+}
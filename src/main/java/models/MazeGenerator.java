@@ -1,9 +1,5 @@
 package models;
 
-import java.util.Collections;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Stack;
 import java.util.Random;
 
 /**
@@ -16,47 +12,70 @@ public class MazeGenerator {
 
     /**
      * Genera una nueva cuadrícula de laberinto del tamaño especificado.
+     * Se mantiene por compatibilidad con el modelo basado en Cell[][].
      * @param size El ancho y alto del laberinto a generar.
      * @return Una matriz 2D de Celdas (Cell[][]) que representa el laberinto.
      */
     public static Cell[][] generate(int size) {
+        return generateGrid(size).toCells();
+    }
+
+    /**
+     * Genera un nuevo laberinto del tamaño especificado sobre una cuadrícula compacta.
+     * @param size El ancho y alto del laberinto a generar.
+     * @return Una MazeGrid que representa el laberinto.
+     */
+    public static MazeGrid generateGrid(int size) {
+        return generateGrid(size, new Random());
+    }
+
+    /**
+     * Genera un laberinto reproducible: la misma semilla produce siempre el mismo laberinto.
+     * Útil para comparar algoritmos y para las mediciones de rendimiento.
+     * @param size El ancho y alto del laberinto a generar.
+     * @param seed La semilla del generador aleatorio.
+     * @return Una MazeGrid que representa el laberinto.
+     */
+    public static MazeGrid generateGrid(int size, long seed) {
+        return generateGrid(size, new Random(seed));
+    }
+
+    private static MazeGrid generateGrid(int size, Random random) {
         // 1. Inicialización: Crear una cuadrícula donde todo es un muro.
-        Cell[][] maze = new Cell[size][size];
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                maze[row][col] = new Cell(row, col);
-                maze[row][col].setState(CellState.WALL);
-            }
-        }
+        MazeGrid maze = new MazeGrid(size, size);
+        maze.fill(CellState.WALL);
 
-        Random random = new Random();
-        Stack<Cell> stack = new Stack<>();
+        // Pila de índices de celda: cada celda entra como máximo una vez.
+        int[] stack = new int[maze.size()];
+        int top = 0;
+        int[] neighbors = new int[4];
 
-        int startRow = random.nextInt(size);
-        int startCol = random.nextInt(size);
-        Cell startCell = maze[startRow][startCol];
-        startCell.setState(CellState.PATH);
-        stack.push(startCell);
+        // Se talla sobre las celdas de coordenadas pares para que las esquinas (0,0) y,
+        // con tamaño impar, (size-1,size-1) queden conectadas.
+        int startRow = 2 * random.nextInt((size + 1) / 2);
+        int startCol = 2 * random.nextInt((size + 1) / 2);
+        int startIndex = maze.index(startRow, startCol);
+        maze.setState(startIndex, CellState.PATH);
+        stack[top++] = startIndex;
 
-        while (!stack.isEmpty()) {
-            Cell current = stack.peek();
-            List<Cell> neighbors = getUnvisitedNeighbors(current, maze, size);
+        while (top > 0) {
+            int current = stack[top - 1];
+            int count = getUnvisitedNeighbors(current, maze, size, neighbors);
 
-            if (!neighbors.isEmpty()) {
-                Cell neighbor = neighbors.get(random.nextInt(neighbors.size()));
+            if (count > 0) {
+                int neighbor = neighbors[random.nextInt(count)];
 
-                int wallRow = current.getRow() + (neighbor.getRow() - current.getRow()) / 2;
-                int wallCol = current.getCol() + (neighbor.getCol() - current.getCol()) / 2;
-                maze[wallRow][wallCol].setState(CellState.PATH);
-                neighbor.setState(CellState.PATH);
-                stack.push(neighbor);
+                // La celda intermedia entre ambas es el muro que se derriba.
+                maze.setState((current + neighbor) / 2, CellState.PATH);
+                maze.setState(neighbor, CellState.PATH);
+                stack[top++] = neighbor;
             } else {
-                stack.pop();
+                top--;
             }
         }
 
-        maze[0][0].setState(CellState.START);
-        maze[size - 1][size - 1].setState(CellState.END);
+        maze.setState(0, 0, CellState.START);
+        maze.setState(size - 1, size - 1, CellState.END);
 
         return maze;
     }
@@ -64,25 +83,19 @@ public class MazeGenerator {
     /**
      * Obtiene los vecinos de una celda que están a 2 pasos de distancia y no han sido
      * convertidos en camino todavía (siguen siendo muros).
+     * @param result Arreglo de salida donde se escriben los índices de los vecinos.
+     * @return La cantidad de vecinos encontrados.
      */
-    private static List<Cell> getUnvisitedNeighbors(Cell cell, Cell[][] maze, int size) {
-        int r = cell.getRow();
-        int c = cell.getCol();
-        
-       
-        int[][] moves = {{r - 2, c}, {r + 2, c}, {r, c - 2}, {r, c + 2}};
-        Stack<Cell> result = new Stack<>();
-
-        for (int[] move : moves) {
-            int newRow = move[0];
-            int newCol = move[1];
-          
-            if (newRow >= 0 && newRow < size && newCol >= 0 && newCol < size && maze[newRow][newCol].getState() == CellState.WALL) {
-                result.push(maze[newRow][newCol]);
-            }
-        }
-        
-        Collections.shuffle(result);
-        return result;
+    private static int getUnvisitedNeighbors(int cell, MazeGrid maze, int size, int[] result) {
+        int r = maze.rowOf(cell);
+        int c = maze.colOf(cell);
+        int count = 0;
+
+        if (r - 2 >= 0 && maze.isWall(r - 2, c)) result[count++] = maze.index(r - 2, c);
+        if (r + 2 < size && maze.isWall(r + 2, c)) result[count++] = maze.index(r + 2, c);
+        if (c - 2 >= 0 && maze.isWall(r, c - 2)) result[count++] = maze.index(r, c - 2);
+        if (c + 2 < size && maze.isWall(r, c + 2)) result[count++] = maze.index(r, c + 2);
+
+        return count;
     }
-}
\ No newline at end of file
+}
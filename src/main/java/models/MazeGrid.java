@@ -0,0 +1,370 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Representación compacta de la cuadrícula del laberinto.
+ *
+ * En lugar de un objeto Cell por casilla, el estado de cada celda se guarda como
+ * un byte (el ordinal de CellState) en un único arreglo plano indexado por
+ * {@code row * cols + col}. Esto reduce el consumo de memoria de decenas de bytes
+ * por celda a uno solo y permite recorridos secuenciales amigables con la caché.
+ *
+ * Los objetos Cell siguen existiendo como valores de posición (inicio, fin,
+ * resultados de los algoritmos); se crean bajo demanda con {@link #cellAt(int, int)}.
+ *
+ * Cada disposición de muros lleva un sello único (getWallStamp()) que cambia cada vez que
+ * una celda pasa a ser muro o deja de serlo, y que copy() conserva. Los algoritmos que
+ * guardan información entre resoluciones lo usan para saber si siguen siendo válidos.
+ *
+ * Además se mantiene un hash Zobrist de los muros (getWallHash()): el XOR de un valor
+ * pseudoaleatorio fijo por cada celda que es muro. Poner o quitar un muro lo actualiza en
+ * O(1), así que dos cuadrículas con los mismos muros tienen el mismo hash sin recorrerlas,
+ * aunque se hayan construido por caminos distintos (a diferencia del sello).
+ *
+ * Cada celda tiene también un costo de paso entre MIN_COST y MAX_COST, el precio de entrar
+ * en ella, en una capa byte[] aparte que solo se reserva cuando alguna celda deja de tener el
+ * costo por defecto. Los algoritmos sin pesos lo ignoran; su hash (getCostHash()) se mantiene
+ * igual que el de los muros.
+ */
+public class MazeGrid {
+
+    private static final CellState[] STATES = CellState.values();
+    private static final AtomicLong WALL_STAMPS = new AtomicLong();
+
+    /** Costo mínimo de entrar en una celda; es el que tienen todas por defecto. */
+    public static final int MIN_COST = 1;
+    /** Costo máximo de entrar en una celda. */
+    public static final int MAX_COST = 9;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] states;
+    private long wallStamp;
+    private long wallHash;
+    // null mientras todas las celdas tengan el costo mínimo.
+    private byte[] costs;
+    private long costHash;
+
+    /**
+     * Crea una cuadrícula en la que todas las celdas son camino (PATH).
+     * @param rows El número de filas.
+     * @param cols El número de columnas.
+     */
+    public MazeGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.states = new byte[rows * cols];
+        fill(CellState.PATH);
+    }
+
+    /**
+     * Constructor de copia.
+     * @param other La cuadrícula a copiar.
+     */
+    private MazeGrid(MazeGrid other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.states = other.states.clone();
+        this.wallStamp = other.wallStamp;
+        this.wallHash = other.wallHash;
+        this.costs = other.costs == null ? null : other.costs.clone();
+        this.costHash = other.costHash;
+    }
+
+    // --- Dimensiones e índices ---
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return El número total de celdas de la cuadrícula.
+     */
+    public int size() {
+        return states.length;
+    }
+
+    /**
+     * Convierte una posición (fila, columna) en el índice plano de la celda.
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Obtiene la fila a partir de un índice plano.
+     */
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    /**
+     * Obtiene la columna a partir de un índice plano.
+     */
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    /**
+     * Verifica si una posición está dentro de los límites de la cuadrícula.
+     */
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    // --- Estado de las celdas ---
+
+    public CellState getState(int row, int col) {
+        return STATES[states[index(row, col)]];
+    }
+
+    public CellState getState(int index) {
+        return STATES[states[index]];
+    }
+
+    public void setState(int row, int col, CellState state) {
+        setState(index(row, col), state);
+    }
+
+    public void setState(int index, CellState state) {
+        if (isWall(index) != (state == CellState.WALL)) {
+            wallStamp = WALL_STAMPS.incrementAndGet();
+            wallHash ^= zobrist(index);
+        }
+        states[index] = (byte) state.ordinal();
+    }
+
+    /**
+     * Verifica si la celda en la posición dada es un muro.
+     */
+    public boolean isWall(int row, int col) {
+        return states[index(row, col)] == CellState.WALL.ordinal();
+    }
+
+    /**
+     * Verifica si la celda con el índice dado es un muro.
+     */
+    public boolean isWall(int index) {
+        return states[index] == CellState.WALL.ordinal();
+    }
+
+    /**
+     * Identifica la disposición actual de los muros. Dos cuadrículas con el mismo sello
+     * tienen exactamente los mismos muros: una es copia de la otra y ninguna ha cambiado
+     * sus muros desde entonces. Cambiar celdas entre estados que no son muro no lo altera.
+     * @return El sello de la disposición de muros.
+     */
+    public long getWallStamp() {
+        return wallStamp;
+    }
+
+    /**
+     * Hash Zobrist de la disposición de muros. Depende solo de qué celdas son muro, no del
+     * orden en que se pusieron; las dimensiones no forman parte del hash.
+     * @return El hash de 64 bits de los muros.
+     */
+    public long getWallHash() {
+        return wallHash;
+    }
+
+    /**
+     * Valor Zobrist de una celda. Se deriva del índice con la mezcla de SplitMix64 en lugar
+     * de guardarse en una tabla, para no reservar 8 bytes por celda.
+     */
+    private static long zobrist(int index) {
+        return mix(index + 1);
+    }
+
+    /**
+     * Valor Zobrist de un costo en una celda; el costo por defecto no aporta nada al hash.
+     */
+    private static long zobrist(int index, int cost) {
+        return cost == MIN_COST ? 0 : mix(((long) (index + 1) << 4) | cost);
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // --- Costos de paso ---
+
+    public int getCost(int row, int col) {
+        return getCost(index(row, col));
+    }
+
+    /**
+     * @return El costo de entrar en la celda, entre MIN_COST y MAX_COST.
+     */
+    public int getCost(int index) {
+        return costs == null ? MIN_COST : costs[index];
+    }
+
+    public void setCost(int row, int col, int cost) {
+        setCost(index(row, col), cost);
+    }
+
+    /**
+     * Cambia el costo de entrar en una celda.
+     * @param index El índice de la celda.
+     * @param cost El nuevo costo.
+     * @throws IllegalArgumentException si el costo no está entre MIN_COST y MAX_COST.
+     */
+    public void setCost(int index, int cost) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("El costo debe estar entre " + MIN_COST + " y " + MAX_COST + ": " + cost);
+        }
+        if (costs == null) {
+            if (cost == MIN_COST) {
+                return;
+            }
+            costs = new byte[states.length];
+            Arrays.fill(costs, (byte) MIN_COST);
+        }
+        costHash ^= zobrist(index, costs[index]) ^ zobrist(index, cost);
+        costs[index] = (byte) cost;
+    }
+
+    /**
+     * Devuelve todas las celdas al costo mínimo.
+     */
+    public void resetCosts() {
+        costs = null;
+        costHash = 0;
+    }
+
+    /**
+     * @return true si alguna celda puede tener un costo distinto del mínimo.
+     */
+    public boolean hasCosts() {
+        return costs != null;
+    }
+
+    /**
+     * Hash Zobrist de los costos, con el mismo esquema que getWallHash(); es 0 si todas las
+     * celdas tienen el costo mínimo.
+     * @return El hash de 64 bits de los costos.
+     */
+    public long getCostHash() {
+        return costHash;
+    }
+
+    /**
+     * Costo total de recorrer un camino: la suma de los costos de las celdas en las que se
+     * entra, es decir, de todas menos la primera. Sin costos coincide con el número de pasos.
+     * @param path Las celdas del camino, en orden.
+     * @return El costo del camino, o 0 si está vacío.
+     */
+    public long pathCost(List<Cell> path) {
+        long total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            total += getCost(path.get(i).getRow(), path.get(i).getCol());
+        }
+        return total;
+    }
+
+    /**
+     * Asigna el mismo estado a todas las celdas.
+     * @param state El estado a asignar.
+     */
+    public void fill(CellState state) {
+        Arrays.fill(states, (byte) state.ordinal());
+        wallStamp = WALL_STAMPS.incrementAndGet();
+        wallHash = 0;
+        if (state == CellState.WALL) {
+            for (int i = 0; i < states.length; i++) {
+                wallHash ^= zobrist(i);
+            }
+        }
+    }
+
+    /**
+     * Reemplaza todas las apariciones de un estado por otro.
+     * Útil para limpiar las celdas visitadas o de la solución.
+     * @param from El estado a reemplazar.
+     * @param to El nuevo estado.
+     */
+    public void replaceState(CellState from, CellState to) {
+        byte f = (byte) from.ordinal();
+        byte t = (byte) to.ordinal();
+        boolean wallsChange = (from == CellState.WALL) != (to == CellState.WALL);
+        if (wallsChange) {
+            wallStamp = WALL_STAMPS.incrementAndGet();
+        }
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == f) {
+                states[i] = t;
+                if (wallsChange) {
+                    wallHash ^= zobrist(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Crea una celda (valor de posición) con el estado actual de esa posición.
+     * La celda devuelta es independiente: modificarla no altera la cuadrícula.
+     */
+    public Cell cellAt(int row, int col) {
+        Cell cell = new Cell(row, col);
+        cell.setState(getState(row, col));
+        return cell;
+    }
+
+    /**
+     * Crea una celda (valor de posición) a partir de un índice plano.
+     */
+    public Cell cellAt(int index) {
+        return cellAt(rowOf(index), colOf(index));
+    }
+
+    /**
+     * @return Una copia independiente de esta cuadrícula.
+     */
+    public MazeGrid copy() {
+        return new MazeGrid(this);
+    }
+
+    // --- Adaptadores para el modelo antiguo basado en Cell[][] ---
+
+    /**
+     * Construye una cuadrícula compacta a partir de una matriz de celdas.
+     * @param maze La matriz de celdas.
+     * @return Una nueva MazeGrid con los mismos estados.
+     */
+    public static MazeGrid fromCells(Cell[][] maze) {
+        MazeGrid grid = new MazeGrid(maze.length, maze[0].length);
+        for (int row = 0; row < grid.rows; row++) {
+            for (int col = 0; col < grid.cols; col++) {
+                grid.setState(row, col, maze[row][col].getState());
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Materializa la cuadrícula como una matriz de celdas.
+     * @return Una nueva matriz Cell[][] con los mismos estados.
+     */
+    public Cell[][] toCells() {
+        Cell[][] maze = new Cell[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                maze[row][col] = cellAt(row, col);
+            }
+        }
+        return maze;
+    }
+}
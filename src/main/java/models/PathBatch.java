@@ -0,0 +1,124 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caminos de un lote de resoluciones, guardados de forma compacta.
+ *
+ * Todos los caminos van seguidos en un único arreglo int[] de índices de celda
+ * (fila * columnas + columna) y el camino i ocupa [offsets[i], offsets[i + 1]), como en una
+ * matriz dispersa CSR. Así un lote de miles de caminos son dos arreglos en lugar de una
+ * lista de objetos Cell por camino. Un camino vacío significa que no hay solución; si el
+ * inicio y el fin coinciden, el camino tiene una sola celda.
+ */
+public class PathBatch {
+
+    private final int cols;
+    private final int[] offsets;
+    private final int[] cells;
+    private final long expandedNodes;
+
+    /**
+     * Crea el lote a partir de sus arreglos, que pasan a ser del lote y no se copian.
+     * @param cols El número de columnas de la cuadrícula, para convertir índices en celdas.
+     * @param offsets El comienzo de cada camino en cells, más un último valor con el total.
+     * @param cells Los índices de celda de todos los caminos, uno detrás de otro.
+     * @param expandedNodes El número total de celdas expandidas para resolver el lote.
+     * @throws IllegalArgumentException si offsets no describe caminos dentro de cells.
+     */
+    public PathBatch(int cols, int[] offsets, int[] cells, long expandedNodes) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != cells.length) {
+            throw new IllegalArgumentException("Los desplazamientos no corresponden a las " + cells.length + " celdas del lote");
+        }
+        this.cols = cols;
+        this.offsets = offsets;
+        this.cells = cells;
+        this.expandedNodes = expandedNodes;
+    }
+
+    /**
+     * @return El número de caminos del lote.
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return true si el camino i tiene solución.
+     */
+    public boolean isFound(int i) {
+        return getPathLength(i) > 0;
+    }
+
+    /**
+     * @return El número de celdas del camino i, incluidos el inicio y el fin; 0 si no hay solución.
+     */
+    public int getPathLength(int i) {
+        checkPath(i);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * Obtiene una celda de un camino sin copiar el camino.
+     * @param i El camino.
+     * @param step La posición dentro del camino, entre 0 y getPathLength(i) - 1.
+     * @return El índice de la celda.
+     */
+    public int getCell(int i, int step) {
+        int length = getPathLength(i);
+        if (step < 0 || step >= length) {
+            throw new IndexOutOfBoundsException("Paso " + step + " fuera del camino de longitud " + length);
+        }
+        return cells[offsets[i] + step];
+    }
+
+    /**
+     * @return Una copia de los índices de celda del camino i, del inicio al fin.
+     */
+    public int[] getPath(int i) {
+        checkPath(i);
+        return Arrays.copyOfRange(cells, offsets[i], offsets[i + 1]);
+    }
+
+    /**
+     * Construye el camino i como lista de celdas, para quien necesite objetos Cell.
+     * @return Las celdas del camino, del inicio al fin.
+     */
+    public List<Cell> getPathCells(int i) {
+        checkPath(i);
+        List<Cell> path = new ArrayList<>(offsets[i + 1] - offsets[i]);
+        for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+            path.add(new Cell(cells[k] / cols, cells[k] % cols));
+        }
+        return path;
+    }
+
+    /**
+     * @return El número de celdas sumando todos los caminos.
+     */
+    public int getTotalCells() {
+        return cells.length;
+    }
+
+    /**
+     * @return El número total de celdas expandidas para resolver el lote.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * @return La memoria aproximada que ocupan los arreglos del lote, en bytes.
+     */
+    public long getMemoryBytes() {
+        return 4L * (offsets.length + cells.length);
+    }
+
+    private void checkPath(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Camino " + i + " fuera del lote de tamaño " + size());
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package models;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Encapsula el resultado completo de una ejecución de un algoritmo de resolución.
  * Contiene tanto la lista de todas las celdas exploradas como el camino de la solución final.
+ *
+ * Los algoritmos guardan las celdas exploradas como una ExplorationTrace de índices enteros;
+ * la lista de objetos Cell solo se construye si alguien la pide con getExploredCells().
  */
 public class SolveResult {
-    private final List<Cell> exploredCells;
+    private final ExplorationTrace explorationTrace;
+    private final int cols;
+    private final long expandedNodes;
+    private List<Cell> exploredCells;
     private final List<Cell> solutionPath;
+    private final TerminationReason terminationReason;
 
     /**
      * Constructor para el resultado de la resolución.
@@ -16,15 +24,66 @@ public class SolveResult {
      * @param solutionPath La lista de celdas que forman el camino final.
      */
     public SolveResult(List<Cell> exploredCells, List<Cell> solutionPath) {
+        this.explorationTrace = null;
+        this.cols = 0;
+        this.expandedNodes = exploredCells == null ? 0 : exploredCells.size();
         this.exploredCells = exploredCells;
         this.solutionPath = solutionPath;
+        this.terminationReason = reasonFor(solutionPath);
+    }
+
+    /**
+     * Constructor para un resultado cuya exploración está registrada como índices de celda.
+     * @param explorationTrace La traza de exploración.
+     * @param cols El número de columnas de la cuadrícula, para convertir índices en celdas.
+     * @param solutionPath La lista de celdas que forman el camino final.
+     */
+    public SolveResult(ExplorationTrace explorationTrace, int cols, List<Cell> solutionPath) {
+        this(explorationTrace, cols, solutionPath, reasonFor(solutionPath));
+    }
+
+    /**
+     * Constructor para un resultado, posiblemente parcial, con un motivo de terminación explícito.
+     * @param explorationTrace La traza de exploración.
+     * @param cols El número de columnas de la cuadrícula, para convertir índices en celdas.
+     * @param solutionPath La lista de celdas que forman el camino final (vacía si no se llegó).
+     * @param terminationReason El motivo por el que terminó la búsqueda.
+     */
+    public SolveResult(ExplorationTrace explorationTrace, int cols, List<Cell> solutionPath, TerminationReason terminationReason) {
+        this.explorationTrace = explorationTrace;
+        this.cols = cols;
+        this.expandedNodes = explorationTrace.getRecordedCount();
+        this.solutionPath = solutionPath;
+        this.terminationReason = terminationReason;
+    }
+
+    private static TerminationReason reasonFor(List<Cell> solutionPath) {
+        return solutionPath != null && !solutionPath.isEmpty() ? TerminationReason.SOLVED : TerminationReason.NO_PATH;
+    }
+
+    /**
+     * Obtiene la traza compacta de la exploración.
+     * @return La traza, o null si el resultado se construyó a partir de una lista de celdas.
+     */
+    public ExplorationTrace getExplorationTrace() {
+        return explorationTrace;
     }
 
     /**
      * Obtiene la lista de todas las celdas que fueron exploradas durante la búsqueda.
+     * Si la exploración se registró con una traza acotada (SAMPLED o LAST), la lista
+     * contiene solo las celdas que la traza guardó.
      * @return Una lista de celdas exploradas.
      */
     public List<Cell> getExploredCells() {
+        if (exploredCells == null && explorationTrace != null) {
+            List<Cell> cells = new ArrayList<>(explorationTrace.size());
+            for (int i = 0; i < explorationTrace.size(); i++) {
+                int index = explorationTrace.get(i);
+                cells.add(new Cell(index / cols, index % cols));
+            }
+            exploredCells = cells;
+        }
         return exploredCells;
     }
 
@@ -43,4 +102,22 @@ public class SolveResult {
     public boolean isSolutionFound() {
         return solutionPath != null && !solutionPath.isEmpty();
     }
+
+    /**
+     * Indica por qué terminó la búsqueda. Cualquier motivo distinto de SOLVED y NO_PATH
+     * significa que el resultado es parcial.
+     * @return El motivo de terminación.
+     */
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    /**
+     * Obtiene el número de nodos expandidos por el algoritmo.
+     * Permite comparar el trabajo realizado por búsquedas informadas (A*) frente a BFS.
+     * @return La cantidad de celdas exploradas, aunque la traza no las haya guardado todas.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
 }
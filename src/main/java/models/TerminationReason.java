@@ -0,0 +1,19 @@
+package models;
+
+/**
+ * Motivo por el que terminó una resolución.
+ */
+public enum TerminationReason {
+    /** Se encontró un camino hasta el destino. */
+    SOLVED,
+    /** Se exploró todo lo alcanzable sin llegar al destino. */
+    NO_PATH,
+    /** Se alcanzó el tiempo límite. */
+    DEADLINE,
+    /** Se alcanzó el máximo de nodos expandidos. */
+    NODE_BUDGET,
+    /** El registro de la exploración alcanzó el límite de memoria indicado. */
+    MEMORY,
+    /** La resolución se canceló desde fuera. */
+    CANCELLED
+}
@@ -0,0 +1,316 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import models.Cell;
+import models.MazeGrid;
+import models.PathBatch;
+
+/**
+ * Resolución por lotes: muchos caminos sobre el mismo laberinto sin una búsqueda por camino.
+ *
+ * solveOneToMany() hace un solo BFS desde el inicio que se detiene en cuanto ha alcanzado
+ * todos los destinos. solveManyToMany() agrupa los pares por celda de inicio, de modo que
+ * los pares que comparten inicio se resuelven con un único BFS de varios destinos, y reparte
+ * los grupos entre un conjunto de hilos que leen la misma copia del laberinto. Cada hilo
+ * tiene sus propios arreglos de búsqueda y toma el siguiente grupo pendiente al terminar el
+ * anterior, así que los grupos grandes no dejan hilos parados.
+ *
+ * Antes de buscar se descartan con ConnectivityIndex los destinos que no están en la
+ * componente del inicio; así un BFS nunca recorre toda su componente buscando un destino
+ * inalcanzable. El índice se guarda según el sello de muros, por lo que conviene reutilizar
+ * la instancia. Los caminos son los más cortos en número de pasos (sin costos de celda) y se
+ * devuelven en un PathBatch, en el mismo orden que los destinos o los pares. Un par cuyo
+ * inicio o destino es muro no tiene camino.
+ */
+public class BatchSolver implements MazeEditListener {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final int threads;
+    private final ConnectivityIndex connectivity = new ConnectivityIndex();
+
+    /**
+     * Crea el resolutor con un hilo por núcleo disponible.
+     */
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threads El número máximo de hilos de solveManyToMany().
+     * @throws IllegalArgumentException si el número de hilos no es positivo.
+     */
+    public BatchSolver(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Mantiene al día el índice de conectividad con las ediciones del tablero.
+     */
+    @Override
+    public void wallChanged(MazeGrid maze, int index, long previousWallStamp) {
+        connectivity.wallChanged(maze, index, previousWallStamp);
+    }
+
+    /**
+     * Busca los caminos desde un inicio hasta varios destinos con un único BFS.
+     * @param maze El laberinto a resolver; se copia antes de empezar.
+     * @param start La celda de inicio.
+     * @param goals Los destinos; pueden repetirse.
+     * @return Un camino por destino, en el mismo orden.
+     * @throws IllegalArgumentException si alguna celda está fuera del laberinto.
+     */
+    public PathBatch solveOneToMany(MazeGrid maze, Cell start, List<Cell> goals) {
+        MazeGrid snapshot = maze.copy();
+        int startIndex = indexOf(snapshot, start);
+        int[] ends = new int[goals.size()];
+        int[] order = new int[goals.size()];
+        int reachable = 0;
+        for (int i = 0; i < ends.length; i++) {
+            ends[i] = indexOf(snapshot, goals.get(i));
+            if (connectivity.isConnected(snapshot, start, goals.get(i))) {
+                order[reachable++] = i;
+            }
+        }
+
+        int[][] paths = new int[ends.length][];
+        long expandedNodes = 0;
+        if (reachable > 0) {
+            expandedNodes = new MultiGoalSearch(snapshot).run(startIndex, ends, order, 0, reachable, paths);
+        }
+        return assemble(snapshot, paths, expandedNodes);
+    }
+
+    /**
+     * Busca el camino de cada par (starts.get(i), ends.get(i)) repartiendo el trabajo entre
+     * varios hilos. Los pares con el mismo inicio comparten una sola búsqueda.
+     * @param maze El laberinto a resolver; se copia antes de empezar.
+     * @param starts Las celdas de inicio de los pares.
+     * @param ends Las celdas de destino de los pares.
+     * @return Un camino por par, en el mismo orden.
+     * @throws IllegalArgumentException si las listas tienen distinto tamaño o alguna celda
+     * está fuera del laberinto.
+     * @throws IllegalStateException si alguna búsqueda falla o la espera se interrumpe.
+     */
+    public PathBatch solveManyToMany(MazeGrid maze, List<Cell> starts, List<Cell> ends) {
+        if (starts.size() != ends.size()) {
+            throw new IllegalArgumentException("Hay " + starts.size() + " inicios para " + ends.size() + " destinos");
+        }
+        MazeGrid snapshot = maze.copy();
+        int pairs = starts.size();
+        int[] startIndex = new int[pairs];
+        int[] endIndex = new int[pairs];
+        // Clave de orden: inicio en los 32 bits altos y número de par en los bajos.
+        long[] keys = new long[pairs];
+        int reachable = 0;
+        for (int i = 0; i < pairs; i++) {
+            startIndex[i] = indexOf(snapshot, starts.get(i));
+            endIndex[i] = indexOf(snapshot, ends.get(i));
+            if (connectivity.isConnected(snapshot, starts.get(i), ends.get(i))) {
+                keys[reachable++] = ((long) startIndex[i] << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, reachable);
+
+        // Los pares alcanzables, ordenados por inicio; el grupo g ocupa [groupStart[g], groupStart[g + 1]).
+        int[] order = new int[reachable];
+        int[] groupStart = new int[reachable + 1];
+        int groups = 0;
+        for (int k = 0; k < reachable; k++) {
+            order[k] = (int) keys[k];
+            if (k == 0 || startIndex[order[k]] != startIndex[order[k - 1]]) {
+                groupStart[groups++] = k;
+            }
+        }
+        groupStart[groups] = reachable;
+
+        int[][] paths = new int[pairs][];
+        long expandedNodes = runGroups(snapshot, startIndex, endIndex, order, groupStart, groups, paths);
+        return assemble(snapshot, paths, expandedNodes);
+    }
+
+    private long runGroups(MazeGrid snapshot, int[] startIndex, int[] endIndex, int[] order,
+                           int[] groupStart, int groups, int[][] paths) {
+        int workers = Math.min(threads, groups);
+        if (workers <= 1) {
+            return runWorker(snapshot, startIndex, endIndex, order, groupStart, groups, paths, new AtomicInteger());
+        }
+        AtomicInteger nextGroup = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Callable<Long>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                tasks.add(() -> runWorker(snapshot, startIndex, endIndex, order, groupStart, groups, paths, nextGroup));
+            }
+            long expandedNodes = 0;
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                expandedNodes += future.get();
+            }
+            return expandedNodes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La resolución por lotes fue interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Una búsqueda del lote falló", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Resuelve grupos pendientes hasta que no quede ninguno. Cada grupo escribe solo en las
+     * posiciones de paths de sus pares, así que los hilos no se pisan.
+     * @return El número de celdas expandidas por este hilo.
+     */
+    private static long runWorker(MazeGrid snapshot, int[] startIndex, int[] endIndex, int[] order,
+                                  int[] groupStart, int groups, int[][] paths, AtomicInteger nextGroup) {
+        MultiGoalSearch search = new MultiGoalSearch(snapshot);
+        long expandedNodes = 0;
+        for (int g = nextGroup.getAndIncrement(); g < groups; g = nextGroup.getAndIncrement()) {
+            int first = groupStart[g];
+            expandedNodes += search.run(startIndex[order[first]], endIndex, order, first, groupStart[g + 1], paths);
+        }
+        return expandedNodes;
+    }
+
+    private static int indexOf(MazeGrid maze, Cell cell) {
+        if (!maze.isInside(cell.getRow(), cell.getCol())) {
+            throw new IllegalArgumentException("Celda fuera del laberinto: (" + cell.getRow() + ", " + cell.getCol() + ")");
+        }
+        return maze.index(cell.getRow(), cell.getCol());
+    }
+
+    /**
+     * Copia los caminos en el formato CSR de PathBatch; los que no se buscaron quedan vacíos.
+     */
+    private static PathBatch assemble(MazeGrid maze, int[][] paths, long expandedNodes) {
+        int[] offsets = new int[paths.length + 1];
+        long total = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i] == null) {
+                paths[i] = NO_PATH;
+            }
+            total += paths[i].length;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Los caminos del lote no caben en un arreglo: más de " + Integer.MAX_VALUE + " celdas");
+            }
+            offsets[i + 1] = (int) total;
+        }
+        int[] cells = new int[(int) total];
+        for (int i = 0; i < paths.length; i++) {
+            System.arraycopy(paths[i], 0, cells, offsets[i], paths[i].length);
+        }
+        return new PathBatch(maze.getCols(), offsets, cells, expandedNodes);
+    }
+
+    /**
+     * BFS desde un inicio hasta un conjunto de destinos, con arreglos reutilizables entre
+     * búsquedas. Los arreglos se marcan con una época en lugar de limpiarse.
+     */
+    private static final class MultiGoalSearch {
+        private final MazeGrid maze;
+        private final int[] seen;
+        private final int[] goal;
+        private final int[] parent;
+        private final int[] queue;
+        private int epoch;
+        // Destinos distintos que faltan por alcanzar en la búsqueda en curso.
+        private int remaining;
+
+        MultiGoalSearch(MazeGrid maze) {
+            this.maze = maze;
+            int size = maze.size();
+            seen = new int[size];
+            goal = new int[size];
+            parent = new int[size];
+            queue = new int[size];
+        }
+
+        /**
+         * Busca desde start hasta los destinos ends[order[k]] con k en [from, to) y deja el
+         * camino de cada uno en paths[order[k]]. Todos los destinos deben ser alcanzables.
+         * @return El número de celdas expandidas.
+         */
+        long run(int start, int[] ends, int[] order, int from, int to, int[][] paths) {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(goal, 0);
+                epoch = 1;
+            }
+            remaining = 0;
+            for (int k = from; k < to; k++) {
+                int end = ends[order[k]];
+                if (goal[end] != epoch) {
+                    goal[end] = epoch;
+                    remaining++;
+                }
+            }
+
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int head = 0;
+            int tail = 0;
+            seen[start] = epoch;
+            parent[start] = start;
+            queue[tail++] = start;
+            if (goal[start] == epoch) {
+                remaining--;
+            }
+            while (remaining > 0 && head < tail) {
+                int current = queue[head++];
+                int row = current / cols;
+                int col = current - row * cols;
+                if (row > 0) { tail = visit(current - cols, current, tail); }
+                if (row < rows - 1) { tail = visit(current + cols, current, tail); }
+                if (col > 0) { tail = visit(current - 1, current, tail); }
+                if (col < cols - 1) { tail = visit(current + 1, current, tail); }
+            }
+
+            for (int k = from; k < to; k++) {
+                paths[order[k]] = pathTo(start, ends[order[k]]);
+            }
+            return head;
+        }
+
+        private int visit(int neighbor, int current, int tail) {
+            if (seen[neighbor] == epoch || maze.isWall(neighbor)) {
+                return tail;
+            }
+            seen[neighbor] = epoch;
+            parent[neighbor] = current;
+            // Un destino queda resuelto al descubrirlo: en un BFS su distancia ya es la final.
+            if (goal[neighbor] == epoch) {
+                remaining--;
+            }
+            queue[tail] = neighbor;
+            return tail + 1;
+        }
+
+        private int[] pathTo(int start, int end) {
+            if (seen[end] != epoch) {
+                return NO_PATH;
+            }
+            int length = 1;
+            for (int step = end; step != start; step = parent[step]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int step = end, i = length - 1; i >= 0; step = parent[step], i--) {
+                path[i] = step;
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package solver;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Señal compartida entre quien lanza una resolución y el algoritmo que la ejecuta.
+ *
+ * El hilo que espera el resultado (por ejemplo, la interfaz) llama a cancel(); el algoritmo
+ * consulta isCancelled() periódicamente y, si está cancelado, termina devolviendo un
+ * resultado parcial sin solución. En las mismas consultas periódicas el algoritmo informa
+ * su avance (nodos expandidos) al listener de progreso, si hay uno.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+    private volatile LongConsumer progressListener;
+
+    /**
+     * Solicita la cancelación. Es seguro llamarlo desde cualquier hilo.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true si se ha solicitado la cancelación.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Establece quién recibe los avisos de progreso. Se invoca desde el hilo que resuelve.
+     * @param progressListener Recibe el número de nodos expandidos hasta el momento.
+     */
+    public void setProgressListener(LongConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Informa el avance de la búsqueda al listener de progreso, si hay uno.
+     * @param expandedNodes El número de nodos expandidos hasta el momento.
+     */
+    public void reportProgress(long expandedNodes) {
+        LongConsumer listener = progressListener;
+        if (listener != null) {
+            listener.accept(expandedNodes);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package solver;
+
+import models.Cell;
+import models.MazeGrid;
+
+/**
+ * Componentes conexas de las celdas libres, para saber sin buscar si hay camino entre dos celdas.
+ *
+ * Es un union-find sobre un int[] indexado por celda: la raíz de cada componente guarda su
+ * tamaño en negativo y el resto de celdas, su padre. Se construye en una pasada lineal que une
+ * cada celda libre con sus vecinas libres de la izquierda y de arriba, y las consultas usan
+ * compresión de caminos, así que cuestan O(1) amortizado.
+ *
+ * Quitar un muro solo puede unir componentes: con el aviso de MazeEditListener la celda se une
+ * con sus vecinas libres al momento. Poner un muro puede partir una componente, lo que un
+ * union-find no sabe deshacer, así que el índice se marca como obsoleto y se reconstruye en la
+ * siguiente consulta. También se reconstruye si el sello de muros no coincide.
+ */
+public class ConnectivityIndex implements MazeEditListener {
+
+    private int[] parent;
+    private long wallStamp;
+    private boolean stale = true;
+
+    /**
+     * Indica si dos celdas libres están en la misma componente.
+     * @param maze La cuadrícula.
+     * @param a Una celda.
+     * @param b Otra celda.
+     * @return true si hay un camino entre ambas; false si alguna es muro o no están conectadas.
+     */
+    public synchronized boolean isConnected(MazeGrid maze, Cell a, Cell b) {
+        if (stale || wallStamp != maze.getWallStamp() || parent.length != maze.size()) {
+            build(maze);
+        }
+        int first = maze.index(a.getRow(), a.getCol());
+        int second = maze.index(b.getRow(), b.getCol());
+        if (maze.isWall(first) || maze.isWall(second)) {
+            return false;
+        }
+        return find(first) == find(second);
+    }
+
+    /**
+     * Une la celda con sus vecinas si dejó de ser muro; si pasó a serlo, o si se perdió algún
+     * cambio, deja el índice para reconstruir.
+     */
+    @Override
+    public synchronized void wallChanged(MazeGrid maze, int index, long previousWallStamp) {
+        if (stale || wallStamp != previousWallStamp || maze.isWall(index)) {
+            stale = true;
+            return;
+        }
+        // Mientras fue muro la celda no se unió con nadie: es una componente de una sola celda.
+        uniteWithFreeNeighbors(maze, index);
+        wallStamp = maze.getWallStamp();
+    }
+
+    private void build(MazeGrid maze) {
+        int size = maze.size();
+        if (parent == null || parent.length != size) {
+            parent = new int[size];
+        }
+        int cols = maze.getCols();
+        for (int cell = 0; cell < size; cell++) {
+            parent[cell] = -1;
+            if (maze.isWall(cell)) {
+                continue;
+            }
+            if (cell % cols > 0 && !maze.isWall(cell - 1)) {
+                union(cell, cell - 1);
+            }
+            if (cell >= cols && !maze.isWall(cell - cols)) {
+                union(cell, cell - cols);
+            }
+        }
+        wallStamp = maze.getWallStamp();
+        stale = false;
+    }
+
+    private void uniteWithFreeNeighbors(MazeGrid maze, int cell) {
+        int cols = maze.getCols();
+        int col = cell % cols;
+        if (cell >= cols && !maze.isWall(cell - cols)) union(cell, cell - cols);
+        if (cell + cols < maze.size() && !maze.isWall(cell + cols)) union(cell, cell + cols);
+        if (col > 0 && !maze.isWall(cell - 1)) union(cell, cell - 1);
+        if (col < cols - 1 && !maze.isWall(cell + 1)) union(cell, cell + 1);
+    }
+
+    private int find(int cell) {
+        int root = cell;
+        while (parent[root] >= 0) {
+            root = parent[root];
+        }
+        while (cell != root) {
+            int next = parent[cell];
+            parent[cell] = root;
+            cell = next;
+        }
+        return root;
+    }
+
+    /**
+     * Une las componentes de dos celdas, colgando la más pequeña de la más grande.
+     */
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (parent[rootA] > parent[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootA] += parent[rootB];
+        parent[rootB] = rootA;
+    }
+}
@@ -0,0 +1,34 @@
+package solver;
+
+/**
+ * Función heurística para los algoritmos de búsqueda informada (A*).
+ *
+ * Estima el costo restante desde una celda hasta el destino. Para que A* devuelva
+ * siempre el camino más corto, la estimación debe ser consistente: nunca superar el
+ * costo real y no disminuir en más de 1 entre dos celdas vecinas.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * Distancia Manhattan: la estimación exacta en una cuadrícula abierta con
+     * movimientos en 4 direcciones.
+     */
+    Heuristic MANHATTAN = (row, col, goalRow, goalCol) ->
+            Math.abs(row - goalRow) + Math.abs(col - goalCol);
+
+    /**
+     * Heurística nula: convierte A* en una búsqueda de costo uniforme (Dijkstra).
+     */
+    Heuristic ZERO = (row, col, goalRow, goalCol) -> 0;
+
+    /**
+     * Estima el costo desde una celda hasta el destino.
+     * @param row Fila de la celda.
+     * @param col Columna de la celda.
+     * @param goalRow Fila del destino.
+     * @param goalCol Columna del destino.
+     * @return Una estimación no negativa del costo restante.
+     */
+    int estimate(int row, int col, int goalRow, int goalCol);
+}
@@ -0,0 +1,23 @@
+package solver;
+
+import models.MazeGrid;
+
+/**
+ * Recibe los cambios de muros del tablero.
+ *
+ * Los algoritmos que conservan estado entre resoluciones implementan esta interfaz para
+ * reparar solo la zona afectada por una edición en lugar de empezar de cero. El
+ * controlador avisa a los algoritmos que tiene instanciados cada vez que un clic cambia
+ * un muro.
+ */
+public interface MazeEditListener {
+
+    /**
+     * Se llama después de que una celda pasó a ser muro o dejó de serlo.
+     * @param maze La cuadrícula ya modificada.
+     * @param index El índice de la celda modificada.
+     * @param previousWallStamp El sello de muros de la cuadrícula antes del cambio. Si no
+     * coincide con el que conoce el algoritmo, se perdió algún cambio y debe descartar su estado.
+     */
+    void wallChanged(MazeGrid maze, int index, long previousWallStamp);
+}
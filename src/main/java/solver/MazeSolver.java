@@ -1,6 +1,10 @@
 package solver;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import models.Cell;
+import models.MazeGrid;
 import models.SolveResult; // Importar la nueva clase de resultado
 
 /**
@@ -16,12 +20,72 @@ public interface MazeSolver {
     /**
      * Método principal para resolver el laberinto.
      *
-     * @param maze La matriz 2D de celdas que representa el laberinto.
+     * @param maze La cuadrícula compacta que representa el laberinto.
      * @param start La celda de inicio.
      * @param end La celda de destino.
      * @return Un objeto SolveResult que contiene la lista de celdas exploradas
      * y la lista de celdas de la solución.
      */
-    SolveResult solve(Cell[][] maze, Cell start, Cell end);
+    SolveResult solve(MazeGrid maze, Cell start, Cell end);
+
+    /**
+     * Resuelve el laberinto respetando un tiempo límite, un presupuesto de nodos, un límite
+     * de memoria y una señal de cancelación.
+     *
+     * Si se alcanza algún límite, el algoritmo devuelve un resultado parcial sin solución
+     * cuyo getTerminationReason() indica el motivo. La versión por defecto no puede
+     * interrumpirse: ignora las opciones y resuelve el laberinto completo.
+     *
+     * @param maze La cuadrícula compacta que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @param options Los límites de la resolución.
+     * @return Un objeto SolveResult, parcial si se alcanzó algún límite.
+     */
+    default SolveResult solve(MazeGrid maze, Cell start, Cell end, SolveOptions options) {
+        return solve(maze, start, end);
+    }
+
+    /**
+     * Resuelve el laberinto atendiendo solo a una señal de cancelación.
+     * Equivale a solve() con unas SolveOptions que solo contienen el token.
+     *
+     * @param maze La cuadrícula compacta que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @param token La señal de cancelación y el destino de los avisos de progreso.
+     * @return Un objeto SolveResult, parcial si la búsqueda se canceló.
+     */
+    default SolveResult solve(MazeGrid maze, Cell start, Cell end, CancellationToken token) {
+        SolveOptions options = new SolveOptions();
+        options.setCancellationToken(token);
+        return solve(maze, start, end, options);
+    }
+
+    /**
+     * Adaptador para el modelo antiguo basado en una matriz de celdas.
+     * Convierte la matriz a una MazeGrid, la resuelve y devuelve las celdas
+     * originales de la matriz en el resultado.
+     *
+     * @param maze La matriz 2D de celdas que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un objeto SolveResult cuyas celdas pertenecen a la matriz recibida.
+     */
+    default SolveResult solve(Cell[][] maze, Cell start, Cell end) {
+        SolveResult result = solve(MazeGrid.fromCells(maze), start, end);
+        return new SolveResult(toOriginalCells(maze, result.getExploredCells()),
+                toOriginalCells(maze, result.getSolutionPath()));
+    }
 
+    /**
+     * Reemplaza cada celda de la lista por la celda de la matriz en la misma posición.
+     */
+    static List<Cell> toOriginalCells(Cell[][] maze, List<Cell> cells) {
+        List<Cell> original = new ArrayList<>(cells.size());
+        for (Cell cell : cells) {
+            original.add(maze[cell.getRow()][cell.getCol()]);
+        }
+        return original;
+    }
 }
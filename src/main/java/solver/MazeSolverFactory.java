@@ -0,0 +1,73 @@
+package solver;
+
+import solver.impl.MazeSolverAStar;
+import solver.impl.MazeSolverArbolLCA;
+import solver.impl.MazeSolverBFS;
+import solver.impl.MazeSolverBFSBidireccional;
+import solver.impl.MazeSolverBFSBits;
+import solver.impl.MazeSolverBFSIndexado;
+import solver.impl.MazeSolverBFSParalelo;
+import solver.impl.MazeSolverCampoFlujo;
+import solver.impl.MazeSolverDFS;
+import solver.impl.MazeSolverDijkstra;
+import solver.impl.MazeSolverHPA;
+import solver.impl.MazeSolverJPS;
+import solver.impl.MazeSolverLPAStar;
+import solver.impl.MazeSolverPasillos;
+import solver.impl.MazeSolverRecursivo;
+import solver.impl.MazeSolverRecursivoCompleto;
+import solver.impl.MazeSolverRecursivoCompletoBT;
+
+/**
+ * Registro central de los algoritmos de resolución disponibles.
+ *
+ * La vista, el controlador y las herramientas de medición obtienen de aquí la lista de
+ * nombres y las instancias, de modo que un algoritmo nuevo solo se registra en un lugar.
+ */
+public final class MazeSolverFactory {
+
+    private static final String[] ALGORITHM_NAMES = {
+        "Recursivo", "Recursivo Completo", "Recursivo Completo BT",
+        "BFS", "BFS Indexado", "BFS Bidireccional", "BFS Paralelo", "BFS Bits", "DFS", "A*", "JPS",
+        "Dijkstra", "Campo de flujo", "LPA*", "Arbol LCA", "Pasillos", "HPA*"
+    };
+
+    private MazeSolverFactory() {
+    }
+
+    /**
+     * @return Los nombres de todos los algoritmos registrados, en el orden en que se muestran.
+     */
+    public static String[] getAlgorithmNames() {
+        return ALGORITHM_NAMES.clone();
+    }
+
+    /**
+     * Crea una instancia nueva del algoritmo indicado.
+     * @param name El nombre del algoritmo, tal como aparece en getAlgorithmNames().
+     * @return Una instancia nueva del algoritmo.
+     * @throws IllegalArgumentException si el nombre no corresponde a ningún algoritmo.
+     */
+    public static MazeSolver create(String name) {
+        switch (name) {
+            case "Recursivo": return new MazeSolverRecursivo();
+            case "Recursivo Completo": return new MazeSolverRecursivoCompleto();
+            case "Recursivo Completo BT": return new MazeSolverRecursivoCompletoBT();
+            case "BFS": return new MazeSolverBFS();
+            case "BFS Indexado": return new MazeSolverBFSIndexado();
+            case "BFS Bidireccional": return new MazeSolverBFSBidireccional();
+            case "BFS Paralelo": return new MazeSolverBFSParalelo();
+            case "BFS Bits": return new MazeSolverBFSBits();
+            case "DFS": return new MazeSolverDFS();
+            case "A*": return new MazeSolverAStar();
+            case "JPS": return new MazeSolverJPS();
+            case "Dijkstra": return new MazeSolverDijkstra();
+            case "Campo de flujo": return new MazeSolverCampoFlujo();
+            case "LPA*": return new MazeSolverLPAStar();
+            case "Arbol LCA": return new MazeSolverArbolLCA();
+            case "Pasillos": return new MazeSolverPasillos();
+            case "HPA*": return new MazeSolverHPA();
+            default: throw new IllegalArgumentException("Algoritmo desconocido: " + name);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package solver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import models.Cell;
+import models.ExplorationTrace;
+import models.MazeGrid;
+import models.SolveResult;
+import models.TerminationReason;
+
+/**
+ * Caché de resultados de resolución indexada por contenido.
+ *
+ * La clave es (algoritmo, dimensiones, hashes Zobrist de los muros y de los costos, inicio,
+ * fin), así que volver a resolver el mismo laberinto con el mismo algoritmo devuelve el
+ * resultado anterior sin buscar, aunque entre medias se haya limpiado la solución o se haya
+ * puesto y quitado un muro. Obtener la clave es O(1) porque MazeGrid mantiene los hashes al
+ * editar.
+ *
+ * Se desalojan primero las entradas usadas hace más tiempo (LRU) cuando la memoria estimada
+ * de los resultados supera el límite. Solo se guardan resultados completos (SOLVED o
+ * NO_PATH): uno parcial depende del tiempo límite o de la cancelación, no del laberinto.
+ */
+public class SolutionCache {
+
+    /** Bytes aproximados de una celda del camino: el objeto Cell y su referencia en la lista. */
+    private static final long BYTES_PER_CELL = 40;
+    /** Bytes aproximados de la entrada, la clave y el resultado, aparte de sus arreglos. */
+    private static final long BYTES_PER_ENTRY = 160;
+
+    /**
+     * Clave de una resolución; los hashes de 64 bits se consideran suficientes para distinguir laberintos.
+     */
+    private static final class Key {
+        final String algorithm;
+        final int rows;
+        final int cols;
+        final long wallHash;
+        final long costHash;
+        final int start;
+        final int end;
+
+        Key(String algorithm, MazeGrid maze, Cell start, Cell end) {
+            this.algorithm = algorithm;
+            this.rows = maze.getRows();
+            this.cols = maze.getCols();
+            this.wallHash = maze.getWallHash();
+            this.costHash = maze.getCostHash();
+            this.start = maze.index(start.getRow(), start.getCol());
+            this.end = maze.index(end.getRow(), end.getCol());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return wallHash == other.wallHash && costHash == other.costHash && rows == other.rows && cols == other.cols
+                    && start == other.start && end == other.end && algorithm.equals(other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(wallHash);
+            h = 31 * h + Long.hashCode(costHash);
+            h = 31 * h + start;
+            h = 31 * h + end;
+            return 31 * h + algorithm.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        final SolveResult result;
+        final long bytes;
+
+        Entry(SolveResult result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long maxBytes;
+    // Orden de acceso: la primera entrada es la usada hace más tiempo.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    /**
+     * Crea una caché con un límite de memoria.
+     * @param maxBytes La memoria máxima estimada que pueden ocupar los resultados guardados.
+     * @throws IllegalArgumentException si el límite no es positivo.
+     */
+    public SolutionCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("El límite de memoria de la caché debe ser positivo: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Busca el resultado de una resolución anterior y lo marca como usado recientemente.
+     * @param algorithm El nombre del algoritmo.
+     * @param maze El laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return El resultado guardado, o null si no está en la caché.
+     */
+    public synchronized SolveResult get(String algorithm, MazeGrid maze, Cell start, Cell end) {
+        Entry entry = entries.get(new Key(algorithm, maze, start, end));
+        return entry == null ? null : entry.result;
+    }
+
+    /**
+     * Guarda un resultado completo. Los resultados parciales, y los que por sí solos superan
+     * el límite de memoria, se ignoran.
+     * @param algorithm El nombre del algoritmo.
+     * @param maze El laberinto que se resolvió.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @param result El resultado de la resolución.
+     */
+    public synchronized void put(String algorithm, MazeGrid maze, Cell start, Cell end, SolveResult result) {
+        TerminationReason reason = result.getTerminationReason();
+        if (reason != TerminationReason.SOLVED && reason != TerminationReason.NO_PATH) {
+            return;
+        }
+        long bytes = estimateBytes(result);
+        if (bytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(new Key(algorithm, maze, start, end), new Entry(result, bytes));
+        if (previous != null) {
+            usedBytes -= previous.bytes;
+        }
+        usedBytes += bytes;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (usedBytes > maxBytes) {
+            usedBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * @return El número de resultados guardados.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return La memoria estimada que ocupan los resultados guardados, en bytes.
+     */
+    public synchronized long getMemoryBytes() {
+        return usedBytes;
+    }
+
+    private static long estimateBytes(SolveResult result) {
+        long bytes = BYTES_PER_ENTRY + BYTES_PER_CELL * result.getSolutionPath().size();
+        ExplorationTrace trace = result.getExplorationTrace();
+        if (trace != null) {
+            bytes += trace.getMemoryBytes();
+        } else {
+            bytes += BYTES_PER_CELL * result.getExploredCells().size();
+        }
+        return bytes;
+    }
+}
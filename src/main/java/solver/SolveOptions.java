@@ -0,0 +1,81 @@
+package solver;
+
+/**
+ * Límites opcionales de una resolución.
+ *
+ * Todos los límites están desactivados por defecto. Cuando se alcanza alguno, el algoritmo
+ * se detiene y devuelve un resultado parcial, sin solución, cuyo TerminationReason indica
+ * qué límite lo detuvo. El tiempo límite, la memoria y la cancelación se comprueban cada
+ * 4096 celdas exploradas; el presupuesto de nodos se respeta de forma exacta.
+ */
+public class SolveOptions {
+
+    /** Valor de los límites que indica "sin límite". */
+    public static final long UNLIMITED = 0;
+
+    private long timeoutMillis = UNLIMITED;
+    private long maxExpandedNodes = UNLIMITED;
+    private long maxMemoryBytes = UNLIMITED;
+    private CancellationToken cancellationToken;
+
+    /**
+     * @return El tiempo máximo de resolución en milisegundos, o UNLIMITED.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Establece el tiempo máximo de resolución, medido desde que empieza solve().
+     * @param timeoutMillis Milisegundos, o UNLIMITED.
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = requireNotNegative(timeoutMillis, "tiempo límite");
+    }
+
+    /**
+     * @return El número máximo de nodos expandidos, o UNLIMITED.
+     */
+    public long getMaxExpandedNodes() {
+        return maxExpandedNodes;
+    }
+
+    public void setMaxExpandedNodes(long maxExpandedNodes) {
+        this.maxExpandedNodes = requireNotNegative(maxExpandedNodes, "máximo de nodos");
+    }
+
+    /**
+     * @return El límite aproximado de memoria para registrar la exploración, o UNLIMITED.
+     */
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+    /**
+     * Establece un límite aproximado de memoria para la traza de exploración, que es lo único
+     * que crece sin cota durante la búsqueda; los arreglos de trabajo de cada algoritmo tienen
+     * un tamaño fijo proporcional a la cuadrícula.
+     * @param maxMemoryBytes Bytes, o UNLIMITED.
+     */
+    public void setMaxMemoryBytes(long maxMemoryBytes) {
+        this.maxMemoryBytes = requireNotNegative(maxMemoryBytes, "límite de memoria");
+    }
+
+    /**
+     * @return La señal de cancelación, o null si la resolución no se puede cancelar.
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    private static long requireNotNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException("El " + name + " no puede ser negativo: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import models.AlgorithmResult;
+import models.Cell;
+import models.MazeGrid;
+import models.SolveResult;
+
+/**
+ * Modo "carrera": ejecuta varios algoritmos a la vez sobre el mismo laberinto.
+ *
+ * Todos los algoritmos leen una única copia del laberinto tomada al comenzar, por lo
+ * que las ediciones posteriores del usuario no les afectan. Cada tarea crea su propia
+ * instancia del algoritmo con MazeSolverFactory, así que ningún estado interno se
+ * comparte entre hilos. El número de hilos está limitado por los núcleos disponibles.
+ *
+ * Nota: los tiempos medidos en paralelo compiten por CPU y memoria, así que sirven para
+ * comparar algoritmos entre sí, no como medida absoluta.
+ */
+public class SolverRace {
+
+    /**
+     * Resultado de un algoritmo dentro de la carrera.
+     */
+    public static class Entry {
+        private final SolveResult solveResult;
+        private final AlgorithmResult algorithmResult;
+
+        Entry(SolveResult solveResult, AlgorithmResult algorithmResult) {
+            this.solveResult = solveResult;
+            this.algorithmResult = algorithmResult;
+        }
+
+        public SolveResult getSolveResult() {
+            return solveResult;
+        }
+
+        public AlgorithmResult getAlgorithmResult() {
+            return algorithmResult;
+        }
+    }
+
+    private final List<String> algorithmNames;
+
+    /**
+     * Crea una carrera con todos los algoritmos registrados.
+     */
+    public SolverRace() {
+        this(Arrays.asList(MazeSolverFactory.getAlgorithmNames()));
+    }
+
+    /**
+     * Crea una carrera con los algoritmos indicados.
+     * @param algorithmNames Nombres de algoritmos registrados en MazeSolverFactory.
+     */
+    public SolverRace(List<String> algorithmNames) {
+        this.algorithmNames = new ArrayList<>(algorithmNames);
+    }
+
+    /**
+     * Ejecuta todos los algoritmos en paralelo y espera a que terminen.
+     * @param maze El laberinto a resolver; se copia antes de empezar.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un resultado por algoritmo, en el mismo orden que los nombres.
+     * @throws IllegalStateException si algún algoritmo falla o la espera se interrumpe.
+     */
+    public List<Entry> run(MazeGrid maze, Cell start, Cell end) {
+        return run(maze, start, end, new SolveOptions());
+    }
+
+    /**
+     * Ejecuta todos los algoritmos en paralelo con los mismos límites para todos.
+     * Al cancelar o agotar un límite, los algoritmos que lo atienden terminan con un resultado
+     * parcial sin solución.
+     * @param maze El laberinto a resolver; se copia antes de empezar.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @param options Los límites de cada resolución; la señal de cancelación es común a todos.
+     * @return Un resultado por algoritmo, en el mismo orden que los nombres.
+     * @throws IllegalStateException si algún algoritmo falla o la espera se interrumpe.
+     */
+    public List<Entry> run(MazeGrid maze, Cell start, Cell end, SolveOptions options) {
+        MazeGrid snapshot = maze.copy();
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), algorithmNames.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Entry>> tasks = new ArrayList<>();
+            for (String name : algorithmNames) {
+                tasks.add(() -> {
+                    MazeSolver solver = MazeSolverFactory.create(name);
+                    long startTime = System.nanoTime();
+                    SolveResult result = solver.solve(snapshot, start, end, options);
+                    long endTime = System.nanoTime();
+                    return new Entry(result, new AlgorithmResult(name, endTime - startTime,
+                            result.getSolutionPath().size(), result.getExpandedNodes(),
+                            snapshot.pathCost(result.getSolutionPath())));
+                });
+            }
+
+            List<Entry> entries = new ArrayList<>();
+            for (Future<Entry> future : executor.invokeAll(tasks)) {
+                entries.add(future.get());
+            }
+            return entries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La carrera de algoritmos fue interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Un algoritmo falló durante la carrera", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package solver;
+
+import java.util.List;
+
+import models.Cell;
+
+/**
+ * Búsqueda en curso que avanza bajo demanda.
+ *
+ * Cada llamada a next() realiza el trabajo mínimo necesario para explorar una celda más y
+ * conserva el estado de la búsqueda entre llamadas, de modo que el modo "Paso a paso" y las
+ * animaciones pueden avanzar celda a celda sin resolver el laberinto completo por adelantado.
+ * Un stepper no es seguro para hilos y solo debe usarse desde un hilo a la vez.
+ *
+ * Al terminar, el stepper libera sus recursos por sí solo. Si se abandona antes de terminar,
+ * conviene llamar a close() para que sus arreglos de trabajo puedan reutilizarse.
+ */
+public interface SolverStepper extends AutoCloseable {
+
+    /** Valor devuelto por next() cuando la búsqueda ya terminó. */
+    int FINISHED = -1;
+
+    /**
+     * Avanza la búsqueda hasta explorar una celda más.
+     * @return El índice (fila * columnas + columna) de la celda explorada, o FINISHED si
+     * la búsqueda ya había terminado o se agotó sin explorar nada más.
+     */
+    int next();
+
+    /**
+     * Avanza la búsqueda hasta explorar como máximo n celdas.
+     * @param n El número máximo de celdas a explorar.
+     * @return El número de celdas exploradas realmente; menor que n si la búsqueda terminó.
+     */
+    default int next(int n) {
+        int explored = 0;
+        while (explored < n && next() != FINISHED) {
+            explored++;
+        }
+        return explored;
+    }
+
+    /**
+     * @return true si la búsqueda terminó, con o sin solución.
+     */
+    boolean isFinished();
+
+    /**
+     * @return true si la búsqueda terminó y encontró el destino.
+     */
+    boolean isSolutionFound();
+
+    /**
+     * Obtiene el camino de la solución. Solo está disponible cuando la búsqueda terminó
+     * con éxito; en cualquier otro caso la lista está vacía.
+     * @return La lista de celdas desde el inicio hasta el destino.
+     */
+    List<Cell> getSolutionPath();
+
+    /**
+     * @return El número de celdas exploradas hasta el momento.
+     */
+    long getExpandedNodes();
+
+    /**
+     * Da por terminada la búsqueda y libera sus recursos. Después de close(), next() devuelve
+     * siempre FINISHED; el camino sigue disponible si ya se había encontrado.
+     */
+    @Override
+    default void close() {
+    }
+}
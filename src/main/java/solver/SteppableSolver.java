@@ -0,0 +1,129 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import models.Cell;
+import models.ExplorationTrace;
+import models.MazeGrid;
+import models.SolveResult;
+import models.TerminationReason;
+
+/**
+ * Algoritmo de resolución que puede ejecutarse paso a paso.
+ *
+ * start() prepara la búsqueda sin explorar ninguna celda y devuelve un SolverStepper que la
+ * hace avanzar bajo demanda. solve() se implementa por defecto agotando el stepper, por lo
+ * que ambos modos producen siempre el mismo orden de exploración y el mismo camino.
+ */
+public interface SteppableSolver extends MazeSolver {
+
+    /**
+     * Prepara una búsqueda paso a paso. La cuadrícula no debe modificarse mientras la
+     * búsqueda esté en curso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper posicionado antes de la primera celda explorada.
+     */
+    SolverStepper start(MazeGrid maze, Cell start, Cell end);
+
+    @Override
+    default SolveResult solve(MazeGrid maze, Cell start, Cell end) {
+        return drain(maze, start(maze, start, end), new ExplorationTrace());
+    }
+
+    /**
+     * Resuelve el laberinto registrando la exploración con la traza indicada, por ejemplo
+     * una traza SAMPLED o LAST para acotar la memoria en laberintos muy grandes.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @param trace La traza vacía donde se registran las celdas exploradas.
+     * @return Un SolveResult cuya exploración es la traza recibida.
+     */
+    default SolveResult solve(MazeGrid maze, Cell start, Cell end, ExplorationTrace trace) {
+        return drain(maze, start(maze, start, end), trace);
+    }
+
+    /**
+     * Resuelve el laberinto respetando los límites de las opciones.
+     */
+    @Override
+    default SolveResult solve(MazeGrid maze, Cell start, Cell end, SolveOptions options) {
+        return drain(maze, start(maze, start, end), new ExplorationTrace(), options);
+    }
+
+    /**
+     * Ejecuta lo que queda de una búsqueda y construye el resultado completo.
+     * @param maze La cuadrícula sobre la que trabaja el stepper.
+     * @param stepper La búsqueda en curso.
+     * @param trace La traza donde se registran las celdas exploradas desde este punto.
+     * @return Un SolveResult con la traza y el camino de la solución.
+     */
+    static SolveResult drain(MazeGrid maze, SolverStepper stepper, ExplorationTrace trace) {
+        for (int cell = stepper.next(); cell != SolverStepper.FINISHED; cell = stepper.next()) {
+            trace.add(cell);
+        }
+        return new SolveResult(trace, maze.getCols(), stepper.getSolutionPath());
+    }
+
+    /**
+     * Igual que drain(maze, stepper, trace), pero respetando los límites de las opciones.
+     * El presupuesto de nodos se comprueba en cada celda; el tiempo límite, la memoria de la
+     * traza y la cancelación, cada 4096 celdas, junto con el aviso de progreso.
+     * @param maze La cuadrícula sobre la que trabaja el stepper.
+     * @param stepper La búsqueda en curso.
+     * @param trace La traza donde se registran las celdas exploradas desde este punto.
+     * @param options Los límites de la resolución.
+     * @return Un SolveResult con la traza, el camino de la solución (vacío si la búsqueda se
+     * detuvo antes de llegar) y el motivo de terminación.
+     */
+    static SolveResult drain(MazeGrid maze, SolverStepper stepper, ExplorationTrace trace, SolveOptions options) {
+        long maxNodes = options.getMaxExpandedNodes() == SolveOptions.UNLIMITED ? Long.MAX_VALUE : options.getMaxExpandedNodes();
+        long maxMemory = options.getMaxMemoryBytes() == SolveOptions.UNLIMITED ? Long.MAX_VALUE : options.getMaxMemoryBytes();
+        long deadline = options.getTimeoutMillis() == SolveOptions.UNLIMITED ? 0
+                : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getTimeoutMillis());
+        CancellationToken token = options.getCancellationToken();
+
+        long explored = 0;
+        TerminationReason stopReason = null;
+        // Si la búsqueda se detiene antes de terminar, close() devuelve su espacio de trabajo.
+        try {
+            while (stopReason == null && !stepper.isFinished()) {
+                if (explored >= maxNodes) {
+                    stopReason = TerminationReason.NODE_BUDGET;
+                    continue;
+                }
+                int cell = stepper.next();
+                if (cell == SolverStepper.FINISHED) {
+                    break;
+                }
+                trace.add(cell);
+                if ((++explored & 0xFFF) == 0) {
+                    if (token != null) {
+                        token.reportProgress(stepper.getExpandedNodes());
+                    }
+                    if (token != null && token.isCancelled()) {
+                        stopReason = TerminationReason.CANCELLED;
+                    } else if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                        stopReason = TerminationReason.DEADLINE;
+                    } else if (trace.getMemoryBytes() > maxMemory) {
+                        stopReason = TerminationReason.MEMORY;
+                    }
+                }
+            }
+            if (token != null) {
+                token.reportProgress(stepper.getExpandedNodes());
+            }
+        } finally {
+            stepper.close();
+        }
+
+        if (stepper.isSolutionFound()) {
+            return new SolveResult(trace, maze.getCols(), stepper.getSolutionPath(), TerminationReason.SOLVED);
+        }
+        return new SolveResult(trace, maze.getCols(), new ArrayList<>(),
+                stopReason != null ? stopReason : TerminationReason.NO_PATH);
+    }
+}
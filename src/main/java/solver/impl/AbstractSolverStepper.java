@@ -0,0 +1,126 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+
+/**
+ * Base común de los steppers: lleva la cuenta de nodos expandidos y el estado de terminación,
+ * y gestiona el espacio de trabajo. El camino de la solución se construye al terminar, antes
+ * de devolver el espacio de trabajo, porque otra búsqueda puede reutilizar sus arreglos.
+ */
+abstract class AbstractSolverStepper implements SolverStepper {
+
+    /**
+     * Tamaño de espacio de trabajo para las búsquedas que no usan ninguno.
+     */
+    static final int NO_WORKSPACE = -1;
+
+    protected final MazeGrid maze;
+    // null si la búsqueda se creó con NO_WORKSPACE.
+    protected final SolverWorkspace workspace;
+    private boolean released;
+    private boolean finished;
+    private boolean solutionFound;
+    private long expandedNodes;
+    private List<Cell> solutionPath;
+
+    AbstractSolverStepper(MazeGrid maze) {
+        this(maze, maze.size());
+    }
+
+    /**
+     * @param workspaceSize El número de identificadores que indexan los arreglos del espacio
+     * de trabajo, para búsquedas sobre un grafo que no es la cuadrícula, o NO_WORKSPACE para
+     * no tomar ninguno.
+     */
+    AbstractSolverStepper(MazeGrid maze, int workspaceSize) {
+        this.maze = maze;
+        this.workspace = workspaceSize == NO_WORKSPACE ? null : SolverWorkspace.acquire(workspaceSize);
+    }
+
+    @Override
+    public final int next() {
+        if (finished) {
+            return FINISHED;
+        }
+        int cell = advance();
+        if (cell == FINISHED) {
+            finished = true;
+            releaseWorkspace();
+            return FINISHED;
+        }
+        expandedNodes++;
+        if (finished) {
+            releaseWorkspace();
+        }
+        return cell;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        releaseWorkspace();
+    }
+
+    private void releaseWorkspace() {
+        if (released) {
+            return;
+        }
+        if (solutionFound) {
+            solutionPath = buildSolutionPath();
+        }
+        released = true;
+        if (workspace != null) {
+            workspace.release();
+        }
+    }
+
+    /**
+     * Avanza el algoritmo hasta explorar una celda más.
+     * Si la celda explorada es el destino, la subclase debe llamar a solved() antes de devolverla.
+     * @return El índice de la celda explorada, o FINISHED si la búsqueda se agotó.
+     */
+    protected abstract int advance();
+
+    /**
+     * Construye el camino de la solución; solo se llama si la búsqueda tuvo éxito y siempre
+     * antes de liberar el espacio de trabajo.
+     */
+    protected abstract List<Cell> buildSolutionPath();
+
+    /**
+     * Marca la búsqueda como terminada con éxito. La celda que devuelve advance() en la
+     * misma llamada se sigue contando como explorada.
+     */
+    protected final void solved() {
+        finished = true;
+        solutionFound = true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public boolean isSolutionFound() {
+        return solutionFound;
+    }
+
+    @Override
+    public List<Cell> getSolutionPath() {
+        if (!solutionFound) {
+            return new ArrayList<>();
+        }
+        return solutionPath;
+    }
+
+    @Override
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+}
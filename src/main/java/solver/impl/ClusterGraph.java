@@ -0,0 +1,384 @@
+package solver.impl;
+
+import java.util.Arrays;
+
+import models.MazeGrid;
+
+/**
+ * Grafo abstracto de HPA*: la cuadrícula dividida en clústeres cuadrados de tamaño fijo.
+ *
+ * En cada borde entre dos clústeres vecinos se buscan los tramos en los que ambos lados son
+ * libres. Cada tramo aporta una entrada en su centro o, si mide al menos LONG_RUN celdas, una
+ * en cada extremo; una entrada es un par de celdas enfrentadas, una a cada lado del borde, que
+ * son nodos del grafo unidos por una arista de peso 1. Dentro de cada clúster se guarda la
+ * matriz de distancias entre sus nodos, calculada con un BFS que no sale del clúster.
+ *
+ * Los nodos se identifican por clúster e índice local, y su identificador global es
+ * clúster * nodesPerCluster() + índice; por construcción un clúster no tiene más de
+ * nodesPerCluster() nodos, así que los arreglos de búsqueda se dimensionan con idCount() y no
+ * con el número de celdas. Al editar una celda solo se reconstruye su clúster y, si la celda
+ * está en el borde, el clúster del otro lado, que comparte las entradas de ese borde. Los
+ * arreglos de un clúster se sustituyen en lugar de modificarse, de modo que copy() solo copia
+ * los arreglos exteriores y la copia se puede reparar sin afectar al original.
+ */
+final class ClusterGraph {
+
+    static final int NONE = -1;
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+    /** Los tramos libres de al menos esta longitud tienen una entrada en cada extremo. */
+    private static final int LONG_RUN = 6;
+    /** Un nodo tiene como mucho un vecino al otro lado de cada uno de los cuatro bordes. */
+    static final int MAX_PARTNERS = 4;
+
+    private final int rows;
+    private final int cols;
+    private final int clusterSize;
+    private final int clusterRows;
+    private final int clusterCols;
+    private final int nodesPerCluster;
+    private long wallStamp;
+
+    // Por clúster: celdas de sus nodos, vecinos de cada nodo en otros clústeres (NONE si no
+    // hay) y distancias entre nodos en una matriz n x n aplanada.
+    private final int[][] nodes;
+    private final int[][] partners;
+    private final int[][] distances;
+
+    // Arreglos de trabajo de build(): el clúster rodeado de un marco de muros, para que el
+    // BFS que calcula las distancias no compruebe límites ni divida.
+    private final int stride;
+    private final boolean[] framedOpen;
+    private final int[] framedDist;
+    private final int[] framedQueue;
+
+    /**
+     * Construye todos los clústeres.
+     * @param maze La cuadrícula.
+     * @param clusterSize El lado de los clústeres, en celdas.
+     */
+    ClusterGraph(MazeGrid maze, int clusterSize) {
+        rows = maze.getRows();
+        cols = maze.getCols();
+        this.clusterSize = clusterSize;
+        clusterRows = (rows + clusterSize - 1) / clusterSize;
+        clusterCols = (cols + clusterSize - 1) / clusterSize;
+        // Cada borde tiene como mucho una entrada por cada dos celdas, porque los tramos
+        // cortos aportan una y los largos dos en al menos LONG_RUN celdas.
+        nodesPerCluster = 4 * ((clusterSize + 1) / 2);
+        wallStamp = maze.getWallStamp();
+        int clusters = clusterRows * clusterCols;
+        nodes = new int[clusters][];
+        partners = new int[clusters][];
+        distances = new int[clusters][];
+        stride = clusterSize + 2;
+        framedOpen = new boolean[stride * stride];
+        framedDist = new int[stride * stride];
+        framedQueue = new int[clusterSize * clusterSize];
+
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            build(maze, cluster);
+        }
+    }
+
+    private ClusterGraph(ClusterGraph other) {
+        rows = other.rows;
+        cols = other.cols;
+        clusterSize = other.clusterSize;
+        clusterRows = other.clusterRows;
+        clusterCols = other.clusterCols;
+        nodesPerCluster = other.nodesPerCluster;
+        wallStamp = other.wallStamp;
+        nodes = other.nodes.clone();
+        partners = other.partners.clone();
+        distances = other.distances.clone();
+        stride = other.stride;
+        framedOpen = new boolean[other.framedOpen.length];
+        framedDist = new int[other.framedDist.length];
+        framedQueue = new int[other.framedQueue.length];
+    }
+
+    /**
+     * @return Una copia que comparte los arreglos de los clústeres, que nunca se modifican.
+     */
+    ClusterGraph copy() {
+        return new ClusterGraph(this);
+    }
+
+    /**
+     * @return El sello de muros de la cuadrícula que representa el grafo.
+     */
+    long getWallStamp() {
+        return wallStamp;
+    }
+
+    /**
+     * @return El número de identificadores globales de nodo.
+     */
+    int idCount() {
+        return nodes.length * nodesPerCluster;
+    }
+
+    int nodesPerCluster() {
+        return nodesPerCluster;
+    }
+
+    /**
+     * @return El tamaño de los arreglos de trabajo de search(): una posición por celda de un clúster.
+     */
+    int scratchSize() {
+        return clusterSize * clusterSize;
+    }
+
+    int clusterOf(int cell) {
+        int row = cell / cols;
+        int col = cell - row * cols;
+        return (row / clusterSize) * clusterCols + col / clusterSize;
+    }
+
+    /**
+     * @return La posición de una celda dentro de los arreglos de trabajo de su clúster.
+     */
+    int localOf(int cell) {
+        int row = cell / cols;
+        int col = cell - row * cols;
+        return (row % clusterSize) * clusterSize + col % clusterSize;
+    }
+
+    int nodeCount(int cluster) {
+        return nodes[cluster].length;
+    }
+
+    int nodeCell(int cluster, int node) {
+        return nodes[cluster][node];
+    }
+
+    /**
+     * @return La distancia dentro del clúster entre dos de sus nodos, o UNREACHABLE.
+     */
+    int distance(int cluster, int from, int to) {
+        return distances[cluster][from * nodes[cluster].length + to];
+    }
+
+    /**
+     * @return La celda vecina del nodo al otro lado de un borde, o NONE.
+     */
+    int partner(int cluster, int node, int slot) {
+        return partners[cluster][node * MAX_PARTNERS + slot];
+    }
+
+    /**
+     * @return El índice local del nodo que ocupa la celda en su clúster, o NONE si no es nodo.
+     */
+    int nodeOf(int cluster, int cell) {
+        int[] cells = nodes[cluster];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * BFS que no sale del clúster de la celda de origen.
+     * @param localDist Recibe la distancia de cada celda del clúster, indexada con localOf(),
+     * o UNREACHABLE si no se llega sin salir del clúster.
+     * @param localParent Si no es null, recibe la celda anterior en el camino desde el origen.
+     * @param queue Un arreglo de trabajo de scratchSize() posiciones.
+     * @param stop Una celda en la que la búsqueda puede terminar en cuanto la alcanza, o NONE
+     * para recorrer todo el clúster.
+     */
+    void search(MazeGrid maze, int source, int[] localDist, int[] localParent, int[] queue, int stop) {
+        int cluster = clusterOf(source);
+        int firstRow = (cluster / clusterCols) * clusterSize;
+        int firstCol = (cluster % clusterCols) * clusterSize;
+        int lastRow = Math.min(firstRow + clusterSize, rows) - 1;
+        int lastCol = Math.min(firstCol + clusterSize, cols) - 1;
+        Arrays.fill(localDist, UNREACHABLE);
+
+        int head = 0;
+        int tail = 0;
+        localDist[localOf(source)] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == stop) {
+                break;
+            }
+            int row = current / cols;
+            int col = current - row * cols;
+            int next = localDist[localOf(current)] + 1;
+            if (row > firstRow) tail = visit(maze, current, current - cols, next, localDist, localParent, queue, tail);
+            if (row < lastRow) tail = visit(maze, current, current + cols, next, localDist, localParent, queue, tail);
+            if (col > firstCol) tail = visit(maze, current, current - 1, next, localDist, localParent, queue, tail);
+            if (col < lastCol) tail = visit(maze, current, current + 1, next, localDist, localParent, queue, tail);
+        }
+    }
+
+    private int visit(MazeGrid maze, int from, int cell, int distance, int[] localDist, int[] localParent,
+                      int[] queue, int tail) {
+        int local = localOf(cell);
+        if (localDist[local] != UNREACHABLE || maze.isWall(cell)) {
+            return tail;
+        }
+        localDist[local] = distance;
+        if (localParent != null) {
+            localParent[local] = from;
+        }
+        queue[tail++] = cell;
+        return tail;
+    }
+
+    /**
+     * Reconstruye los clústeres afectados por el cambio de una celda entre muro y camino.
+     * @param maze La cuadrícula ya modificada.
+     * @param cell La celda que cambió.
+     */
+    void wallChanged(MazeGrid maze, int cell) {
+        int cluster = clusterOf(cell);
+        build(maze, cluster);
+
+        int row = cell / cols;
+        int col = cell - row * cols;
+        int clusterRow = cluster / clusterCols;
+        int clusterCol = cluster % clusterCols;
+        if (row % clusterSize == 0 && clusterRow > 0) {
+            build(maze, cluster - clusterCols);
+        }
+        if ((row + 1) % clusterSize == 0 && clusterRow < clusterRows - 1) {
+            build(maze, cluster + clusterCols);
+        }
+        if (col % clusterSize == 0 && clusterCol > 0) {
+            build(maze, cluster - 1);
+        }
+        if ((col + 1) % clusterSize == 0 && clusterCol < clusterCols - 1) {
+            build(maze, cluster + 1);
+        }
+        wallStamp = maze.getWallStamp();
+    }
+
+    /**
+     * Busca las entradas de los cuatro bordes de un clúster y las distancias entre ellas.
+     */
+    private void build(MazeGrid maze, int cluster) {
+        int clusterRow = cluster / clusterCols;
+        int clusterCol = cluster % clusterCols;
+        int firstRow = clusterRow * clusterSize;
+        int firstCol = clusterCol * clusterSize;
+        int lastRow = Math.min(firstRow + clusterSize, rows) - 1;
+        int lastCol = Math.min(firstCol + clusterSize, cols) - 1;
+        int width = lastCol - firstCol + 1;
+        int height = lastRow - firstRow + 1;
+
+        int[] cells = new int[nodesPerCluster];
+        int[] links = new int[nodesPerCluster * MAX_PARTNERS];
+        Arrays.fill(links, NONE);
+        int count = 0;
+        if (clusterRow > 0) {
+            count = collectBorder(maze, firstRow * cols + firstCol, 1, width, -cols, cells, links, count);
+        }
+        if (clusterRow < clusterRows - 1) {
+            count = collectBorder(maze, lastRow * cols + firstCol, 1, width, cols, cells, links, count);
+        }
+        if (clusterCol > 0) {
+            count = collectBorder(maze, firstRow * cols + firstCol, cols, height, -1, cells, links, count);
+        }
+        if (clusterCol < clusterCols - 1) {
+            count = collectBorder(maze, firstRow * cols + lastCol, cols, height, 1, cells, links, count);
+        }
+
+        Arrays.fill(framedOpen, false);
+        for (int row = 0; row < height; row++) {
+            int cell = (firstRow + row) * cols + firstCol;
+            int framed = (row + 1) * stride + 1;
+            for (int col = 0; col < width; col++) {
+                framedOpen[framed + col] = !maze.isWall(cell + col);
+            }
+        }
+        int[] framedCells = new int[count];
+        for (int i = 0; i < count; i++) {
+            framedCells[i] = (cells[i] / cols - firstRow + 1) * stride + cells[i] % cols - firstCol + 1;
+        }
+        int[] matrix = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            framedSearch(framedCells[i]);
+            for (int j = 0; j < count; j++) {
+                matrix[i * count + j] = framedDist[framedCells[j]];
+            }
+        }
+        nodes[cluster] = Arrays.copyOf(cells, count);
+        partners[cluster] = Arrays.copyOf(links, count * MAX_PARTNERS);
+        distances[cluster] = matrix;
+    }
+
+    private void framedSearch(int source) {
+        Arrays.fill(framedDist, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        framedDist[source] = 0;
+        framedQueue[tail++] = source;
+        while (head < tail) {
+            int current = framedQueue[head++];
+            int next = framedDist[current] + 1;
+            tail = framedVisit(current - stride, next, tail);
+            tail = framedVisit(current + stride, next, tail);
+            tail = framedVisit(current - 1, next, tail);
+            tail = framedVisit(current + 1, next, tail);
+        }
+    }
+
+    private int framedVisit(int framed, int distance, int tail) {
+        if (framedOpen[framed] && framedDist[framed] == UNREACHABLE) {
+            framedDist[framed] = distance;
+            framedQueue[tail++] = framed;
+        }
+        return tail;
+    }
+
+    /**
+     * Recorre un borde del clúster y añade las entradas de sus tramos libres.
+     * @param first La primera celda del borde dentro del clúster.
+     * @param step La distancia entre celdas consecutivas del borde.
+     * @param length El número de celdas del borde.
+     * @param across La distancia a la celda enfrentada del clúster vecino.
+     * @return El nuevo número de nodos.
+     */
+    private int collectBorder(MazeGrid maze, int first, int step, int length, int across,
+                              int[] cells, int[] links, int count) {
+        int runStart = NONE;
+        for (int i = 0; i <= length; i++) {
+            int cell = first + i * step;
+            boolean open = i < length && !maze.isWall(cell) && !maze.isWall(cell + across);
+            if (open && runStart == NONE) {
+                runStart = i;
+            } else if (!open && runStart != NONE) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_RUN) {
+                    count = addEntrance(first + runStart * step, across, cells, links, count);
+                    count = addEntrance(first + runEnd * step, across, cells, links, count);
+                } else {
+                    count = addEntrance(first + (runStart + runEnd) / 2 * step, across, cells, links, count);
+                }
+                runStart = NONE;
+            }
+        }
+        return count;
+    }
+
+    private int addEntrance(int cell, int across, int[] cells, int[] links, int count) {
+        // Una esquina puede ser entrada de dos bordes: es el mismo nodo con dos vecinos.
+        int node = 0;
+        while (node < count && cells[node] != cell) {
+            node++;
+        }
+        if (node == count) {
+            cells[count++] = cell;
+        }
+        int slot = node * MAX_PARTNERS;
+        while (links[slot] != NONE) {
+            slot++;
+        }
+        links[slot] = cell + across;
+        return count;
+    }
+}
@@ -0,0 +1,205 @@
+package solver.impl;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Montículo binario mínimo indexado sobre identificadores enteros (índices de celda).
+ *
+ * Cada identificador aparece como máximo una vez y tiene asociada una clave long.
+ * Un arreglo de posiciones permite consultar, actualizar o eliminar un identificador
+ * en O(log n) sin buscarlo, y ninguna operación crea objetos.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final long[] keys;
+    private final int[] position;
+    private int size;
+
+    /**
+     * Empaqueta f y g en una sola clave para búsquedas tipo A*: primero por f ascendente
+     * y, a igual f, por g descendente (se prefiere la celda más cercana al destino).
+     */
+    static long priority(int f, int g) {
+        return ((long) f << 32) | (Integer.MAX_VALUE - g);
+    }
+
+    /**
+     * @param capacity El número de identificadores posibles (0 .. capacity-1).
+     */
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.keys = new long[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    private IndexedMinHeap(IndexedMinHeap other) {
+        this.heap = other.heap.clone();
+        this.keys = other.keys.clone();
+        this.position = other.position.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * @return Una copia independiente del montículo, con los mismos identificadores y claves.
+     */
+    IndexedMinHeap copy() {
+        return new IndexedMinHeap(this);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * @return La clave actual de un identificador contenido en el montículo.
+     */
+    long keyOf(int id) {
+        return keys[position[id]];
+    }
+
+    /**
+     * @return La clave mínima sin extraerla.
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * @return El identificador con la clave mínima sin extraerlo.
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Inserta un identificador o, si ya está presente, actualiza su clave.
+     */
+    void insertOrUpdate(int id, long key) {
+        int pos = position[id];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = id;
+            keys[pos] = key;
+            position[id] = pos;
+            siftUp(pos);
+        } else if (key < keys[pos]) {
+            keys[pos] = key;
+            siftUp(pos);
+        } else {
+            keys[pos] = key;
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * Extrae el identificador con la clave mínima.
+     */
+    int poll() {
+        int id = heap[0];
+        removeAt(0);
+        return id;
+    }
+
+    /**
+     * Elimina un identificador si está presente.
+     */
+    void remove(int id) {
+        int pos = position[id];
+        if (pos >= 0) {
+            removeAt(pos);
+        }
+    }
+
+    /**
+     * Vacía el montículo en tiempo proporcional a su tamaño actual.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Recalcula la clave de todos los identificadores y restablece el orden del montículo en O(n).
+     * @param keyOf La función que da la nueva clave de cada identificador.
+     */
+    void rekeyAll(IntToLongFunction keyOf) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyOf.applyAsLong(heap[i]);
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void removeAt(int pos) {
+        int id = heap[pos];
+        position[id] = -1;
+        size--;
+        if (pos == size) {
+            return;
+        }
+        heap[pos] = heap[size];
+        keys[pos] = keys[size];
+        position[heap[pos]] = pos;
+        siftDown(pos);
+        siftUp(pos);
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        long key = keys[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, pos);
+            pos = parent;
+        }
+        place(id, key, pos);
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        long key = keys[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, pos);
+            pos = child;
+        }
+        place(id, key, pos);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        position[heap[to]] = to;
+    }
+
+    private void place(int id, long key, int pos) {
+        heap[pos] = id;
+        keys[pos] = key;
+        position[id] = pos;
+    }
+}
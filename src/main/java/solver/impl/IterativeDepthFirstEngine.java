@@ -0,0 +1,136 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+
+/**
+ * Motor iterativo compartido por los algoritmos "recursivos".
+ *
+ * Reproduce exactamente el orden de visita de la versión recursiva de findPath,
+ * pero con una pila explícita de marcos (celda + siguiente dirección a probar) en
+ * arreglos int[]/byte[] tomados del SolverWorkspace. La profundidad de la pila de la JVM es constante, por lo que
+ * soporta pasillos de millones de celdas sin StackOverflowError. Al encontrar el
+ * destino, la pila contiene el camino completo de inicio a fin, de modo que la
+ * solución se obtiene en tiempo lineal.
+ */
+final class IterativeDepthFirstEngine {
+
+    private final int[] dr;
+    private final int[] dc;
+    private final boolean backtrack;
+
+    /**
+     * @param dr Desplazamientos de fila, en el orden en que se prueban las direcciones.
+     * @param dc Desplazamientos de columna, en el mismo orden.
+     * @param backtrack Si es true, una celda se desmarca al agotar todas sus direcciones
+     *                  sin éxito y puede volver a visitarse por otro camino.
+     */
+    IterativeDepthFirstEngine(int[] dr, int[] dc, boolean backtrack) {
+        this.dr = dr;
+        this.dc = dc;
+        this.backtrack = backtrack;
+    }
+
+    /**
+     * Prepara la búsqueda en profundidad paso a paso.
+     * @param maze La cuadrícula del laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return El stepper de la búsqueda.
+     */
+    SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private final class Search extends AbstractSolverStepper {
+        private final int startRow;
+        private final int startCol;
+        private final int endIndex;
+        private final int[] visited;
+        private final int epoch;
+        // Cada marco de la pila es una celda distinta marcada como visitada,
+        // así que la pila nunca supera el número de celdas.
+        private final int[] stack;
+        private final byte[] nextDirection;
+        private boolean started;
+        private int top;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            this.startRow = start.getRow();
+            this.startCol = start.getCol();
+            this.endIndex = maze.index(end.getRow(), end.getCol());
+            this.visited = workspace.marks(0);
+            this.epoch = workspace.epoch();
+            this.stack = workspace.ints(0);
+            this.nextDirection = workspace.bytes();
+        }
+
+        @Override
+        protected int advance() {
+            if (!started) {
+                started = true;
+                return visitStart();
+            }
+
+            int cols = maze.getCols();
+            while (top > 0) {
+                int frame = top - 1;
+                int current = stack[frame];
+                int direction = nextDirection[frame];
+
+                if (direction < dr.length) {
+                    nextDirection[frame] = (byte) (direction + 1);
+                    int row = current / cols + dr[direction];
+                    int col = current % cols + dc[direction];
+                    if (!maze.isInside(row, col)) {
+                        continue;
+                    }
+                    int neighbor = maze.index(row, col);
+                    if (maze.isWall(neighbor) || visited[neighbor] == epoch) {
+                        continue;
+                    }
+                    return push(neighbor);
+                } else {
+                    // Todas las direcciones fallaron: se "retorna" de este marco.
+                    if (backtrack) {
+                        visited[current] = 0;
+                    }
+                    top--;
+                }
+            }
+            return FINISHED;
+        }
+
+        private int visitStart() {
+            if (!maze.isInside(startRow, startCol) || maze.isWall(startRow, startCol)) {
+                return FINISHED;
+            }
+            return push(maze.index(startRow, startCol));
+        }
+
+        private int push(int cell) {
+            visited[cell] = epoch;
+            stack[top] = cell;
+            nextDirection[top] = 0;
+            top++;
+            if (cell == endIndex) {
+                solved();
+            }
+            return cell;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>(top);
+            for (int i = 0; i < top; i++) {
+                solutionPath.add(maze.cellAt(stack[i]));
+            }
+            return solutionPath;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package solver.impl;
+
+import java.util.Arrays;
+
+import models.MazeGrid;
+
+/**
+ * Grafo de cruces que resulta de contraer los pasillos de un laberinto.
+ *
+ * Los nodos son las celdas libres cuyo número de vecinos libres no es 2 (cruces, callejones
+ * sin salida y celdas aisladas) y se identifican por su índice de celda. Cada pasillo de
+ * celdas de grado 2 entre dos nodos se convierte en un par de aristas, una por sentido, con
+ * peso igual a su número de pasos. Cada arista guarda además la primera y la última celda
+ * del pasillo, que bastan para volver a recorrerlo celda a celda.
+ *
+ * Las aristas del grafo construido se guardan en formato CSR: las de la celda u ocupan
+ * [edgeStart[u], edgeStart[u + 1]) en los arreglos target, weight, firstCell y lastCell.
+ * Al editar un muro solo se rehacen los pasillos que tocan la celda y sus vecinos: las
+ * aristas viejas se marcan como muertas y las nuevas se añaden a listas enlazadas por nodo
+ * sobre los mismos arreglos. Un nodo tiene como mucho cuatro aristas vivas, una por dirección.
+ * Las reparaciones modifican el grafo, así que quien lo haya entregado a una búsqueda debe
+ * reparar una copia (copy()).
+ *
+ * Un ciclo formado solo por celdas de grado 2 no tiene nodos: sus celdas quedan sin pasillo
+ * (corridorOf() devuelve NONE) y quien consulte el grafo debe resolverlas de otra forma.
+ */
+final class JunctionGraph {
+
+    static final int NONE = -1;
+    private static final int DEAD = 0;
+
+    private final int rows;
+    private final int cols;
+    private long wallStamp;
+    private final int[] edgeStart;
+    private final int[] corridor;
+    private int[] overlayHead;
+
+    private int edgeCount;
+    private int[] target;
+    private int[] weight;
+    private int[] firstCell;
+    private int[] lastCell;
+    private int[] nextOverlay;
+
+    // Búfer de trabajo de las reparaciones; las consultas no escriben en el grafo.
+    private final int[] nodeEdges = new int[4];
+
+    /**
+     * Contrae todos los pasillos de la cuadrícula en O(celdas).
+     * @param maze La cuadrícula.
+     */
+    JunctionGraph(MazeGrid maze) {
+        rows = maze.getRows();
+        cols = maze.getCols();
+        wallStamp = maze.getWallStamp();
+        int size = maze.size();
+        edgeStart = new int[size + 1];
+        corridor = new int[size];
+        Arrays.fill(corridor, NONE);
+        int capacity = 16;
+        target = new int[capacity];
+        weight = new int[capacity];
+        firstCell = new int[capacity];
+        lastCell = new int[capacity];
+        nextOverlay = new int[capacity];
+
+        // Cada nodo recorre todos sus pasillos, así que cada pasillo se recorre dos veces,
+        // una desde cada extremo, y las aristas de cada nodo quedan contiguas.
+        int[] directions = new int[4];
+        for (int cell = 0; cell < size; cell++) {
+            edgeStart[cell] = edgeCount;
+            if (!isNode(maze, cell)) {
+                continue;
+            }
+            int count = freeNeighbors(maze, cell, directions);
+            for (int i = 0; i < count; i++) {
+                trace(maze, cell, directions[i]);
+            }
+        }
+        edgeStart[size] = edgeCount;
+    }
+
+    private JunctionGraph(JunctionGraph other) {
+        rows = other.rows;
+        cols = other.cols;
+        wallStamp = other.wallStamp;
+        edgeStart = other.edgeStart.clone();
+        corridor = other.corridor.clone();
+        overlayHead = other.overlayHead == null ? null : other.overlayHead.clone();
+        edgeCount = other.edgeCount;
+        target = other.target.clone();
+        weight = other.weight.clone();
+        firstCell = other.firstCell.clone();
+        lastCell = other.lastCell.clone();
+        nextOverlay = other.nextOverlay.clone();
+    }
+
+    /**
+     * @return Una copia independiente del grafo, que se puede reparar sin afectar a este.
+     */
+    JunctionGraph copy() {
+        return new JunctionGraph(this);
+    }
+
+    /**
+     * @return El sello de muros de la cuadrícula que representa el grafo.
+     */
+    long getWallStamp() {
+        return wallStamp;
+    }
+
+    /**
+     * @return true si la celda es libre y su número de vecinos libres no es 2.
+     */
+    boolean isNode(MazeGrid maze, int cell) {
+        return !maze.isWall(cell) && freeNeighbors(maze, cell, null) != 2;
+    }
+
+    /**
+     * @return Una arista viva del pasillo que contiene la celda, o NONE si la celda no es
+     * de un pasillo entre nodos.
+     */
+    int corridorOf(int cell) {
+        int edge = corridor[cell];
+        return edge != NONE && weight[edge] != DEAD ? edge : NONE;
+    }
+
+    /**
+     * Copia en out las aristas vivas que salen de un nodo.
+     * @param out Un arreglo de al menos 4 posiciones.
+     * @return El número de aristas copiadas.
+     */
+    int edgesOf(int node, int[] out) {
+        int count = 0;
+        for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+            if (weight[edge] != DEAD) {
+                out[count++] = edge;
+            }
+        }
+        if (overlayHead != null) {
+            for (int edge = overlayHead[node]; edge != NONE; edge = nextOverlay[edge]) {
+                if (weight[edge] != DEAD) {
+                    out[count++] = edge;
+                }
+            }
+        }
+        return count;
+    }
+
+    int target(int edge) {
+        return target[edge];
+    }
+
+    int weight(int edge) {
+        return weight[edge];
+    }
+
+    int firstCell(int edge) {
+        return firstCell[edge];
+    }
+
+    /**
+     * Siguiente celda de un pasillo: el vecino libre de cell que no es prev.
+     * cell debe tener exactamente dos vecinos libres.
+     */
+    int continueCorridor(MazeGrid maze, int cell, int prev) {
+        int row = cell / cols;
+        int col = cell - row * cols;
+        if (row > 0 && cell - cols != prev && !maze.isWall(cell - cols)) return cell - cols;
+        if (row < rows - 1 && cell + cols != prev && !maze.isWall(cell + cols)) return cell + cols;
+        if (col > 0 && cell - 1 != prev && !maze.isWall(cell - 1)) return cell - 1;
+        return cell + 1;
+    }
+
+    /**
+     * Cuenta los vecinos libres de una celda y, si out no es null, los copia en él.
+     */
+    int freeNeighbors(MazeGrid maze, int cell, int[] out) {
+        int row = cell / cols;
+        int col = cell - row * cols;
+        int count = 0;
+        if (row > 0 && !maze.isWall(cell - cols)) count = add(out, count, cell - cols);
+        if (row < rows - 1 && !maze.isWall(cell + cols)) count = add(out, count, cell + cols);
+        if (col > 0 && !maze.isWall(cell - 1)) count = add(out, count, cell - 1);
+        if (col < cols - 1 && !maze.isWall(cell + 1)) count = add(out, count, cell + 1);
+        return count;
+    }
+
+    private static int add(int[] out, int count, int cell) {
+        if (out != null) {
+            out[count] = cell;
+        }
+        return count + 1;
+    }
+
+    /**
+     * Rehace localmente el grafo después de que una celda cambió entre muro y camino.
+     * Solo cambia el grado de la celda y de sus vecinos, así que basta con matar los
+     * pasillos que pasan por ellos y volver a trazarlos desde sus extremos.
+     * @param maze La cuadrícula ya modificada.
+     * @param cell La celda que cambió.
+     */
+    void wallChanged(MazeGrid maze, int cell) {
+        ensureOverlay();
+        int[] region = new int[5];
+        int regionSize = 0;
+        region[regionSize++] = cell;
+        int row = cell / cols;
+        int col = cell - row * cols;
+        if (row > 0) region[regionSize++] = cell - cols;
+        if (row < rows - 1) region[regionSize++] = cell + cols;
+        if (col > 0) region[regionSize++] = cell - 1;
+        if (col < cols - 1) region[regionSize++] = cell + 1;
+
+        // Cada celda de la región mata como mucho 5 pasillos (4 como nodo o 1 como pasillo),
+        // con 2 extremos cada uno, y se anota a sí misma.
+        int[] retrace = new int[regionSize * 11];
+        int retraceSize = 0;
+        int[] outgoing = new int[4];
+        int[] directions = new int[4];
+        for (int i = 0; i < regionSize; i++) {
+            int x = region[i];
+            int count = edgesOf(x, outgoing);
+            for (int j = 0; j < count; j++) {
+                retraceSize = kill(outgoing[j], retrace, retraceSize);
+            }
+            int edge = corridorOf(x);
+            if (edge != NONE) {
+                retraceSize = kill(edge, retrace, retraceSize);
+            }
+            corridor[x] = NONE;
+            retrace[retraceSize++] = x;
+        }
+
+        for (int i = 0; i < retraceSize; i++) {
+            int node = retrace[i];
+            if (!isNode(maze, node)) {
+                continue;
+            }
+            int count = freeNeighbors(maze, node, directions);
+            for (int d = 0; d < count; d++) {
+                int direction = directions[d];
+                if (!hasEdgeVia(node, direction)) {
+                    int edge = trace(maze, node, direction);
+                    linkOverlay(node, edge);
+                    // La arista de vuelta sale del otro extremo por la última celda del pasillo.
+                    int back = addEdge(node, weight[edge], lastCell[edge], direction);
+                    linkOverlay(target[edge], back);
+                }
+            }
+        }
+        wallStamp = maze.getWallStamp();
+    }
+
+    /**
+     * Marca una arista y su gemela como muertas y anota sus extremos para volver a trazarlos.
+     */
+    private int kill(int edge, int[] retrace, int retraceSize) {
+        int twin = findTwin(edge);
+        weight[edge] = DEAD;
+        retrace[retraceSize++] = target[edge];
+        if (twin != NONE) {
+            weight[twin] = DEAD;
+            retrace[retraceSize++] = target[twin];
+        }
+        return retraceSize;
+    }
+
+    private int findTwin(int edge) {
+        int count = edgesOf(target[edge], nodeEdges);
+        for (int i = 0; i < count; i++) {
+            int candidate = nodeEdges[i];
+            if (firstCell[candidate] == lastCell[edge] && lastCell[candidate] == firstCell[edge]) {
+                return candidate;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean hasEdgeVia(int node, int first) {
+        int count = edgesOf(node, nodeEdges);
+        for (int i = 0; i < count; i++) {
+            if (firstCell[nodeEdges[i]] == first) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recorre el pasillo que sale de un nodo por la celda first hasta el siguiente nodo y
+     * añade la arista correspondiente.
+     * @return El identificador de la arista.
+     */
+    private int trace(MazeGrid maze, int node, int first) {
+        int prev = node;
+        int current = first;
+        int length = 1;
+        int edge = edgeCount;
+        while (!isNode(maze, current)) {
+            corridor[current] = edge;
+            int next = continueCorridor(maze, current, prev);
+            prev = current;
+            current = next;
+            length++;
+        }
+        return addEdge(current, length, first, prev);
+    }
+
+    private int addEdge(int to, int length, int first, int last) {
+        if (edgeCount == target.length) {
+            int capacity = edgeCount * 2;
+            target = Arrays.copyOf(target, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+            firstCell = Arrays.copyOf(firstCell, capacity);
+            lastCell = Arrays.copyOf(lastCell, capacity);
+            nextOverlay = Arrays.copyOf(nextOverlay, capacity);
+        }
+        target[edgeCount] = to;
+        weight[edgeCount] = length;
+        firstCell[edgeCount] = first;
+        lastCell[edgeCount] = last;
+        nextOverlay[edgeCount] = NONE;
+        return edgeCount++;
+    }
+
+    private void linkOverlay(int node, int edge) {
+        nextOverlay[edge] = overlayHead[node];
+        overlayHead[node] = edge;
+    }
+
+    private void ensureOverlay() {
+        if (overlayHead == null) {
+            overlayHead = new int[corridor.length];
+            Arrays.fill(overlayHead, NONE);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.Heuristic;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Implementación del algoritmo A* sobre índices de celda.
+ *
+ * Ordena la frontera por f = g + h usando un montículo binario indexado. En caso de empate
+ * en f se prefiere la celda con mayor g (la más cercana al destino), lo que evita expandir
+ * los numerosos caminos simétricos de las cuadrículas abiertas. Con una heurística
+ * consistente como Manhattan, una celda cerrada nunca se reabre y el camino devuelto
+ * es siempre el más corto.
+ */
+public class MazeSolverAStar implements SteppableSolver {
+
+    private final Heuristic heuristic;
+
+    /**
+     * Crea el algoritmo con la heurística Manhattan.
+     */
+    public MazeSolverAStar() {
+        this(Heuristic.MANHATTAN);
+    }
+
+    /**
+     * Crea el algoritmo con una heurística específica.
+     * @param heuristic La heurística a utilizar.
+     */
+    public MazeSolverAStar(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Prepara la búsqueda A* paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande la celda de menor f por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end, heuristic);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final Heuristic heuristic;
+        private final int startIndex;
+        private final int endIndex;
+        private final int endRow;
+        private final int endCol;
+        // g y parent solo son válidos en las celdas con reached[i] == epoch.
+        private final int[] g;
+        private final int[] parent;
+        private final int[] reached;
+        private final int[] closed;
+        private final int epoch;
+        private final IndexedMinHeap open;
+        private final int[] neighbors = new int[4];
+
+        Search(MazeGrid maze, Cell start, Cell end, Heuristic heuristic) {
+            super(maze);
+            this.heuristic = heuristic;
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            endRow = end.getRow();
+            endCol = end.getCol();
+
+            g = workspace.ints(0);
+            parent = workspace.ints(1);
+            reached = workspace.marks(0);
+            closed = workspace.marks(1);
+            epoch = workspace.epoch();
+            open = workspace.heap();
+
+            reached[startIndex] = epoch;
+            g[startIndex] = 0;
+            parent[startIndex] = startIndex;
+            open.insertOrUpdate(startIndex, IndexedMinHeap.priority(heuristic.estimate(start.getRow(), start.getCol(), endRow, endCol), 0));
+        }
+
+        @Override
+        protected int advance() {
+            if (open.isEmpty()) {
+                return FINISHED;
+            }
+            int current = open.poll();
+            closed[current] = epoch;
+
+            if (current == endIndex) {
+                solved();
+                return current;
+            }
+
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int row = current / cols;
+            int col = current - row * cols;
+            int count = 0;
+            if (row > 0) neighbors[count++] = current - cols;
+            if (row < rows - 1) neighbors[count++] = current + cols;
+            if (col > 0) neighbors[count++] = current - 1;
+            if (col < cols - 1) neighbors[count++] = current + 1;
+
+            int nextG = g[current] + 1;
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (closed[neighbor] == epoch || maze.isWall(neighbor)
+                        || (reached[neighbor] == epoch && nextG >= g[neighbor])) {
+                    continue;
+                }
+                reached[neighbor] = epoch;
+                g[neighbor] = nextG;
+                parent[neighbor] = current;
+                int h = heuristic.estimate(neighbor / cols, neighbor % cols, endRow, endCol);
+                open.insertOrUpdate(neighbor, IndexedMinHeap.priority(nextG + h, nextG));
+            }
+            return current;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            int step = endIndex;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            return solutionPath;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Resolución sin búsqueda para laberintos perfectos, mediante un TreePathIndex.
+ *
+ * Los laberintos de MazeGenerator son perfectos: las celdas libres forman un árbol y entre
+ * dos celdas hay un único camino. La primera resolución construye el índice en O(celdas);
+ * las siguientes, mientras no cambien los muros, obtienen el camino con el ancestro común
+ * más bajo en O(log n + longitud) y exploran solo las celdas del camino.
+ *
+ * Si al construir el índice se detecta un ciclo (por ejemplo, porque se quitó un muro), el
+ * algoritmo recurre a MazeSolverBFSIndexado hasta que los muros vuelvan a cambiar. El
+ * índice se guarda según el sello de muros, así que la instancia debe reutilizarse.
+ */
+public class MazeSolverArbolLCA implements SteppableSolver {
+
+    private final MazeSolverBFSIndexado fallback = new MazeSolverBFSIndexado();
+    private TreePathIndex index;
+
+    /**
+     * Prepara la resolución paso a paso. Si el laberinto es un árbol, cada llamada devuelve
+     * una celda del camino; si no, la búsqueda es la del BFS indexado.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que recorre el camino, o el del BFS si el laberinto tiene ciclos.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        TreePathIndex tree = indexFor(maze);
+        if (!tree.isForest()) {
+            return fallback.start(maze, start, end);
+        }
+        return new TreeWalk(maze, tree, maze.index(start.getRow(), start.getCol()), maze.index(end.getRow(), end.getCol()));
+    }
+
+    /**
+     * Longitud del camino más corto entre dos celdas, en pasos. En un laberinto perfecto se
+     * responde en O(log n) con el índice; si no, se resuelve con BFS.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return El número de pasos, o -1 si no hay camino.
+     */
+    public int distance(MazeGrid maze, Cell start, Cell end) {
+        TreePathIndex tree = indexFor(maze);
+        if (!tree.isForest()) {
+            return fallback.solve(maze, start, end).getSolutionPath().size() - 1;
+        }
+        int a = maze.index(start.getRow(), start.getCol());
+        int b = maze.index(end.getRow(), end.getCol());
+        return tree.isConnected(a, b) ? tree.distance(a, b) : -1;
+    }
+
+    private synchronized TreePathIndex indexFor(MazeGrid maze) {
+        if (index == null || index.getWallStamp() != maze.getWallStamp()) {
+            index = new TreePathIndex(maze);
+        }
+        return index;
+    }
+
+    private static final class TreeWalk extends AbstractSolverStepper {
+        private final int[] path;
+        private int cursor;
+
+        TreeWalk(MazeGrid maze, TreePathIndex tree, int startIndex, int endIndex) {
+            super(maze);
+            path = tree.isConnected(startIndex, endIndex) ? tree.path(startIndex, endIndex) : new int[0];
+        }
+
+        @Override
+        protected int advance() {
+            if (cursor == path.length) {
+                return FINISHED;
+            }
+            int current = path[cursor++];
+            if (cursor == path.length) {
+                solved();
+            }
+            return current;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>(path.length);
+            for (int cell : path) {
+                solutionPath.add(maze.cellAt(cell));
+            }
+            return solutionPath;
+        }
+    }
+}
@@ -1,43 +1,56 @@
 package solver.impl;
 
 import models.Cell;
-import models.CellState;
-import models.SolveResult;
-import solver.MazeSolver;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
 
 import java.util.*;
 
 /**
  * Implementación del algoritmo de Búsqueda en Anchura (BFS) que devuelve un resultado completo.
  * Retorna tanto las celdas exploradas para la animación como el camino de la solución.
+ *
+ * Se deja a propósito en su forma original, con objetos Cell, una cola y un mapa de padres,
+ * como referencia sencilla; por eso no toma el espacio de trabajo compartido. La variante
+ * optimizada, sin reservas por resolución, es "BFS Indexado".
  */
-public class MazeSolverBFS implements MazeSolver {
+public class MazeSolverBFS implements SteppableSolver {
 
     /**
-     * Resuelve el laberinto utilizando el algoritmo BFS.
-     * @param maze La matriz 2D que representa el laberinto.
+     * Prepara la búsqueda BFS paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
      * @param start La celda de inicio.
      * @param end La celda de destino.
-     * @return Un objeto SolveResult que contiene la lista de celdas exploradas y la ruta de la solución.
+     * @return Un stepper que saca una celda de la cola por llamada.
      */
     @Override
-    public SolveResult solve(Cell[][] maze, Cell start, Cell end) {
-        Queue<Cell> queue = new LinkedList<>();
-        Map<Cell, Cell> parentMap = new HashMap<>();
-        List<Cell> exploredOrder = new ArrayList<>();
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
 
-        queue.add(start);
-        parentMap.put(start, null);
+    private static final class Search extends AbstractSolverStepper {
+        private final Queue<Cell> queue = new LinkedList<>();
+        private final Map<Cell, Cell> parentMap = new HashMap<>();
+        private final Cell end;
 
-        boolean found = false;
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze, NO_WORKSPACE);
+            this.end = end;
+            queue.add(start);
+            parentMap.put(start, null);
+        }
 
-        while (!queue.isEmpty()) {
+        @Override
+        protected int advance() {
+            if (queue.isEmpty()) {
+                return FINISHED;
+            }
             Cell current = queue.poll();
-            exploredOrder.add(current);
 
             if (current.equals(end)) {
-                found = true;
-                break;
+                solved();
+                return maze.index(current.getRow(), current.getCol());
             }
 
             int[] dr = {-1, 1, 0, 0};
@@ -48,40 +61,41 @@ public class MazeSolverBFS implements MazeSolver {
                 int newCol = current.getCol() + dc[i];
 
                 if (isValid(maze, parentMap, newRow, newCol)) {
-                    Cell neighbor = maze[newRow][newCol];
+                    Cell neighbor = maze.cellAt(newRow, newCol);
                     parentMap.put(neighbor, current);
                     queue.add(neighbor);
                 }
             }
+            return maze.index(current.getRow(), current.getCol());
         }
 
-        List<Cell> solutionPath = new ArrayList<>();
-        if (found) {
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
             Cell step = end;
             while (step != null) {
                 solutionPath.add(0, step);
                 step = parentMap.get(step);
             }
+            return solutionPath;
         }
-        
-        return new SolveResult(exploredOrder, solutionPath);
     }
 
     /**
      * Verifica si una celda es un movimiento válido.
-     * @param maze La matriz del laberinto.
+     * @param maze La cuadrícula del laberinto.
      * @param parentMap El mapa de celdas visitadas.
      * @param row La fila a verificar.
      * @param col La columna a verificar.
      * @return true si la celda es válida, false en caso contrario.
      */
-    private boolean isValid(Cell[][] maze, Map<Cell, Cell> parentMap, int row, int col) {
-        if (row < 0 || row >= maze.length || col < 0 || col >= maze[0].length) {
+    private static boolean isValid(MazeGrid maze, Map<Cell, Cell> parentMap, int row, int col) {
+        if (!maze.isInside(row, col)) {
             return false;
         }
-        if (maze[row][col].getState() == CellState.WALL) {
+        if (maze.isWall(row, col)) {
             return false;
         }
-        return !parentMap.containsKey(maze[row][col]);
+        return !parentMap.containsKey(new Cell(row, col));
     }
 }
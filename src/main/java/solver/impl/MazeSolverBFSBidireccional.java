@@ -0,0 +1,211 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Implementación de BFS bidireccional.
+ *
+ * Hace crecer dos fronteras, una desde el inicio y otra desde el destino, expandiendo
+ * siempre un nivel completo de la frontera más pequeña. La búsqueda termina cuando las
+ * fronteras se encuentran: como cada una cubre un radio de aproximadamente la mitad de
+ * la distancia, se exploran muchas menos celdas que con un BFS de un solo sentido.
+ *
+ * Las distancias y padres de cada lado se guardan en arreglos int[] indexados por celda,
+ * tomados del SolverWorkspace junto con una capa de marcas de visitado por lado.
+ * Las celdas exploradas de ambos lados se devuelven intercaladas en el orden real de
+ * expansión, por lo que la animación del controlador funciona sin cambios.
+ */
+public class MazeSolverBFSBidireccional implements SteppableSolver {
+
+    private static final int NONE = -1;
+
+    /**
+     * Estado de una de las dos búsquedas (desde el inicio o desde el destino).
+     * dist y parent solo son válidos en las celdas con visited[i] == epoch.
+     */
+    private static final class Side {
+        final int[] visited;
+        final int epoch;
+        final int[] dist;
+        final int[] parent;
+        final int[] queue;
+        int levelStart;
+        int levelEnd;
+
+        Side(SolverWorkspace workspace, int side, int origin) {
+            visited = workspace.marks(side);
+            epoch = workspace.epoch();
+            dist = workspace.ints(3 * side);
+            parent = workspace.ints(3 * side + 1);
+            queue = workspace.ints(3 * side + 2);
+            visited[origin] = epoch;
+            dist[origin] = 0;
+            parent[origin] = origin;
+            queue[0] = origin;
+            levelStart = 0;
+            levelEnd = 1;
+        }
+
+        int frontierSize() {
+            return levelEnd - levelStart;
+        }
+    }
+
+    /**
+     * Prepara la búsqueda BFS desde ambos extremos paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande una celda de la frontera activa por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final int startIndex;
+        private final int endIndex;
+        private final Side fromStart;
+        private final Side fromEnd;
+        private final int[] neighbors = new int[4];
+        private int meeting = NONE;
+        private boolean started;
+
+        // Estado del nivel que se está expandiendo; side es null entre niveles.
+        private Side side;
+        private Side other;
+        private int cursor;
+        private int tail;
+        private int bestMeeting;
+        private int bestLength;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            fromStart = new Side(workspace, 0, startIndex);
+            fromEnd = new Side(workspace, 1, endIndex);
+        }
+
+        @Override
+        protected int advance() {
+            if (startIndex == endIndex) {
+                if (started) {
+                    return FINISHED;
+                }
+                started = true;
+                solved();
+                return startIndex;
+            }
+
+            if (side == null) {
+                if (fromStart.frontierSize() == 0 || fromEnd.frontierSize() == 0) {
+                    return FINISHED;
+                }
+                // Se expande siempre un nivel completo de la frontera más pequeña.
+                if (fromStart.frontierSize() <= fromEnd.frontierSize()) {
+                    beginLevel(fromStart, fromEnd);
+                } else {
+                    beginLevel(fromEnd, fromStart);
+                }
+            }
+
+            int current = side.queue[cursor++];
+            expandCell(current);
+            if (cursor == side.levelEnd) {
+                endLevel();
+            }
+            return current;
+        }
+
+        private void beginLevel(Side expanding, Side opposite) {
+            side = expanding;
+            other = opposite;
+            cursor = expanding.levelStart;
+            tail = expanding.levelEnd;
+            bestMeeting = NONE;
+            bestLength = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Visita los vecinos de una celda del nivel actual y recuerda el mejor punto de
+         * encuentro con el otro lado.
+         */
+        private void expandCell(int current) {
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int row = current / cols;
+            int col = current - row * cols;
+            int nextDist = side.dist[current] + 1;
+            int count = 0;
+            if (row > 0) neighbors[count++] = current - cols;
+            if (row < rows - 1) neighbors[count++] = current + cols;
+            if (col > 0) neighbors[count++] = current - 1;
+            if (col < cols - 1) neighbors[count++] = current + 1;
+
+            for (int d = 0; d < count; d++) {
+                int neighbor = neighbors[d];
+                if (side.visited[neighbor] == side.epoch || maze.isWall(neighbor)) {
+                    continue;
+                }
+                side.visited[neighbor] = side.epoch;
+                side.dist[neighbor] = nextDist;
+                side.parent[neighbor] = current;
+                side.queue[tail++] = neighbor;
+
+                if (other.visited[neighbor] == other.epoch && nextDist + other.dist[neighbor] < bestLength) {
+                    bestLength = nextDist + other.dist[neighbor];
+                    bestMeeting = neighbor;
+                }
+            }
+        }
+
+        /**
+         * Cierra el nivel actual. Se termina el nivel aunque ya haya habido un encuentro,
+         * para quedarse con el punto de encuentro que da el camino total más corto.
+         */
+        private void endLevel() {
+            side.levelStart = side.levelEnd;
+            side.levelEnd = tail;
+            side = null;
+            other = null;
+            if (bestMeeting != NONE) {
+                meeting = bestMeeting;
+                solved();
+            }
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            if (meeting == NONE) {
+                // Inicio y destino coinciden.
+                solutionPath.add(maze.cellAt(startIndex));
+                return solutionPath;
+            }
+            // Tramo inicio -> encuentro (recorrido hacia atrás e invertido).
+            int step = meeting;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = fromStart.parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            // Tramo encuentro -> destino.
+            step = meeting;
+            while (step != endIndex) {
+                step = fromEnd.parent[step];
+                solutionPath.add(maze.cellAt(step));
+            }
+            return solutionPath;
+        }
+    }
+}
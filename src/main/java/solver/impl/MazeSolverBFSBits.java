@@ -0,0 +1,279 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * BFS paralelo a nivel de bits: expande 64 celdas de una fila por operación.
+ *
+ * Cada fila de la cuadrícula se empaqueta en palabras long (bit j de la palabra k = columna
+ * 64k + j), tanto las celdas libres como las visitadas. Un nivel se expande palabra a palabra:
+ * la frontera desplazada un bit a cada lado, más la de las filas de arriba y de abajo, se
+ * intersecta con las libres y sin visitar. Solo se calculan las palabras vecinas de palabras
+ * no vacías de la frontera, así que un nivel cuesta lo que sus palabras y no lo que la fila.
+ *
+ * Las palabras de cada nivel se guardan de forma dispersa (índice y bits), lo que nunca ocupa
+ * más de una entrada por celda libre. El camino se recupera hacia atrás: desde el fin, en cada
+ * nivel se busca un vecino que esté en la frontera del nivel anterior. El camino devuelto es
+ * siempre uno de los más cortos. Dentro de un nivel las palabras se exploran en el orden en
+ * que se alcanzaron (no en orden de índice) y, dentro de cada palabra, por columna creciente.
+ *
+ * Las palabras de celdas libres se guardan según el sello de muros, así que conviene
+ * reutilizar la instancia. Las palabras de visitadas y las de trabajo van en el espacio de
+ * trabajo, con un sello de época por palabra: una palabra sin la época actual vale cero.
+ * No se usa la Vector API: el proyecto compila para Java 8.
+ */
+public class MazeSolverBFSBits implements SteppableSolver {
+
+    private long[] openBits;
+    private long openStamp;
+
+    /**
+     * Prepara el BFS por bits paso a paso. Cada llamada a next() devuelve una celda del nivel
+     * actual; al agotarlo, se expande el siguiente nivel completo.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que recorre las celdas exploradas nivel por nivel.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, openBitsFor(maze), maze.index(start.getRow(), start.getCol()),
+                maze.index(end.getRow(), end.getCol()));
+    }
+
+    private synchronized long[] openBitsFor(MazeGrid maze) {
+        if (openBits == null || openStamp != maze.getWallStamp()) {
+            int shift = rowShift(maze.getCols());
+            long[] packed = new long[maze.getRows() << shift];
+            for (int row = 0; row < maze.getRows(); row++) {
+                int cell = row * maze.getCols();
+                for (int col = 0; col < maze.getCols(); col++) {
+                    if (!maze.isWall(cell + col)) {
+                        packed[(row << shift) + (col >>> 6)] |= 1L << col;
+                    }
+                }
+            }
+            openBits = packed;
+            openStamp = maze.getWallStamp();
+        }
+        return openBits;
+    }
+
+    /**
+     * Cada fila ocupa una potencia de dos de palabras, para pasar de palabra a fila y columna
+     * con desplazamientos en lugar de divisiones; las palabras de relleno no tienen celdas libres.
+     * @return El logaritmo en base 2 del número de palabras por fila.
+     */
+    private static int rowShift(int cols) {
+        int words = (cols + 63) >>> 6;
+        return 32 - Integer.numberOfLeadingZeros(words - 1);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final int endIndex;
+        private final int rows;
+        private final int cols;
+        private final int words;
+        private final int shift;
+        private final int mask;
+        private final long[] open;
+        // visited[w] y scratch[w] solo son válidos si su sello es la época; si no, valen cero.
+        private final long[] visited;
+        private final int[] visitedStamp;
+        // Bits alcanzados por el nivel siguiente en expand() y frontera de un nivel anterior
+        // al recuperar el camino; fuera de esos dos usos está a cero.
+        private final long[] scratch;
+        private final int[] scratchStamp;
+        private final int epoch;
+        private final int[] touched;
+
+        // Palabras de todos los niveles; las del nivel n ocupan [levelStart[n], levelStart[n + 1]).
+        // Cada celda libre está en una sola palabra de un solo nivel, así que caben en
+        // arreglos del espacio de trabajo.
+        private int[] levelStart = new int[64];
+        private int level;
+        private final int[] historyWord;
+        private final long[] historyBits;
+        private int historySize;
+
+        // Celdas del nivel actual que quedan por devolver.
+        private int cursor;
+        private int pendingWord;
+        private long pendingBits;
+
+        Search(MazeGrid maze, long[] open, int startIndex, int endIndex) {
+            super(maze);
+            this.endIndex = endIndex;
+            this.rows = maze.getRows();
+            this.cols = maze.getCols();
+            this.words = (cols + 63) >>> 6;
+            this.shift = rowShift(cols);
+            this.mask = (1 << shift) - 1;
+            this.open = open;
+            // Las palabras tocadas en un nivel son distintas y no hay más palabras que celdas.
+            touched = workspace.ints(0);
+            historyWord = workspace.ints(1);
+            historyBits = workspace.longs(0);
+            visited = workspace.longs(1);
+            scratch = workspace.longs(2);
+            visitedStamp = workspace.marks(0);
+            scratchStamp = workspace.marks(1);
+            epoch = workspace.epoch();
+
+            int word = wordOf(startIndex);
+            long bit = bitOf(startIndex);
+            visit(word, bit);
+            record(word, bit);
+            levelStart[1] = historySize;
+        }
+
+        private int wordOf(int cell) {
+            int row = cell / cols;
+            return (row << shift) + ((cell - row * cols) >>> 6);
+        }
+
+        private long bitOf(int cell) {
+            return 1L << (cell % cols);
+        }
+
+        @Override
+        protected int advance() {
+            while (true) {
+                if (pendingBits != 0) {
+                    int bit = Long.numberOfTrailingZeros(pendingBits);
+                    pendingBits &= pendingBits - 1;
+                    int cell = (pendingWord >>> shift) * cols + ((pendingWord & mask) << 6) + bit;
+                    if (cell == endIndex) {
+                        solved();
+                    }
+                    return cell;
+                }
+                if (cursor < levelStart[level + 1]) {
+                    pendingWord = historyWord[cursor];
+                    pendingBits = historyBits[cursor];
+                    cursor++;
+                } else if (!expand()) {
+                    return FINISHED;
+                }
+            }
+        }
+
+        /**
+         * Calcula el nivel siguiente a partir de las palabras del nivel actual. Cada palabra
+         * de la frontera reparte con OR sus bits desplazados en las palabras vecinas de
+         * scratch, y luego cada palabra tocada se intersecta con las libres sin visitar.
+         * @return false si el nivel siguiente está vacío.
+         */
+        private boolean expand() {
+            int from = levelStart[level];
+            int to = levelStart[level + 1];
+            int stride = 1 << shift;
+            int touchedCount = 0;
+            for (int i = from; i < to; i++) {
+                int word = historyWord[i];
+                long here = historyBits[i];
+                int row = word >>> shift;
+                int column = word & mask;
+                touchedCount = spread(word, here | (here << 1) | (here >>> 1), touchedCount);
+                // Los bits de los extremos pasan a la palabra vecina de la misma fila.
+                if (column > 0 && (here & 1L) != 0) touchedCount = spread(word - 1, Long.MIN_VALUE, touchedCount);
+                if (column < words - 1 && here < 0) touchedCount = spread(word + 1, 1L, touchedCount);
+                if (row > 0) touchedCount = spread(word - stride, here, touchedCount);
+                if (row < rows - 1) touchedCount = spread(word + stride, here, touchedCount);
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                int word = touched[i];
+                long reached = scratch[word] & open[word] & ~visitedWord(word);
+                scratch[word] = 0;
+                if (reached != 0) {
+                    visit(word, reached);
+                    record(word, reached);
+                }
+            }
+
+            level++;
+            if (level + 1 == levelStart.length) {
+                levelStart = Arrays.copyOf(levelStart, levelStart.length * 2);
+            }
+            levelStart[level + 1] = historySize;
+            return historySize > to;
+        }
+
+        private int spread(int word, long bits, int count) {
+            long current = scratchWord(word);
+            if (current == 0) {
+                touched[count++] = word;
+            }
+            setScratch(word, current | bits);
+            return count;
+        }
+
+        private long visitedWord(int word) {
+            return visitedStamp[word] == epoch ? visited[word] : 0;
+        }
+
+        private void visit(int word, long bits) {
+            visited[word] = visitedWord(word) | bits;
+            visitedStamp[word] = epoch;
+        }
+
+        private long scratchWord(int word) {
+            return scratchStamp[word] == epoch ? scratch[word] : 0;
+        }
+
+        private void setScratch(int word, long bits) {
+            scratch[word] = bits;
+            scratchStamp[word] = epoch;
+        }
+
+        private void record(int word, long bits) {
+            historyWord[historySize] = word;
+            historyBits[historySize] = bits;
+            historySize++;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>(level + 1);
+            int step = endIndex;
+            solutionPath.add(maze.cellAt(step));
+            for (int previous = level - 1; previous >= 0; previous--) {
+                for (int i = levelStart[previous]; i < levelStart[previous + 1]; i++) {
+                    setScratch(historyWord[i], historyBits[i]);
+                }
+                step = neighborInScratch(step);
+                solutionPath.add(maze.cellAt(step));
+                for (int i = levelStart[previous]; i < levelStart[previous + 1]; i++) {
+                    scratch[historyWord[i]] = 0;
+                }
+            }
+            Collections.reverse(solutionPath);
+            return solutionPath;
+        }
+
+        /**
+         * @return Un vecino de la celda que está en la frontera cargada en scratch.
+         */
+        private int neighborInScratch(int cell) {
+            int row = cell / cols;
+            int col = cell - row * cols;
+            if (row > 0 && inScratch(cell - cols)) return cell - cols;
+            if (row < rows - 1 && inScratch(cell + cols)) return cell + cols;
+            if (col > 0 && inScratch(cell - 1)) return cell - 1;
+            return cell + 1;
+        }
+
+        private boolean inScratch(int cell) {
+            return (scratchWord(wordOf(cell)) & bitOf(cell)) != 0;
+        }
+    }
+}
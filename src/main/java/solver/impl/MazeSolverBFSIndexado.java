@@ -0,0 +1,108 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Implementación de BFS que trabaja directamente sobre los índices enteros de la MazeGrid.
+ *
+ * Produce exactamente el mismo orden de exploración y el mismo camino que MazeSolverBFS,
+ * pero sin colecciones de objetos: la cola, los padres y las marcas de visitado son
+ * arreglos int[] indexados por celda, tomados del SolverWorkspace. El camino se reconstruye
+ * en tiempo lineal.
+ */
+public class MazeSolverBFSIndexado implements SteppableSolver {
+
+    /**
+     * Prepara la búsqueda BFS sobre índices de celda paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que saca una celda de la cola por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final int startIndex;
+        private final int endIndex;
+        private final int[] visited;
+        private final int epoch;
+        // Cada celda se encola una sola vez, así que la cola no necesita ser circular.
+        private final int[] queue;
+        private final int[] parent;
+        private int head;
+        private int tail;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            visited = workspace.marks(0);
+            epoch = workspace.epoch();
+            queue = workspace.ints(0);
+            parent = workspace.ints(1);
+            queue[tail++] = startIndex;
+            visited[startIndex] = epoch;
+            parent[startIndex] = startIndex;
+        }
+
+        @Override
+        protected int advance() {
+            if (head == tail) {
+                return FINISHED;
+            }
+            int current = queue[head++];
+
+            if (current == endIndex) {
+                solved();
+                return current;
+            }
+
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int row = current / cols;
+            int col = current - row * cols;
+
+            // Mismo orden de vecinos que MazeSolverBFS: arriba, abajo, izquierda, derecha.
+            if (row > 0) visit(current, current - cols);
+            if (row < rows - 1) visit(current, current + cols);
+            if (col > 0) visit(current, current - 1);
+            if (col < cols - 1) visit(current, current + 1);
+            return current;
+        }
+
+        /**
+         * Encola un vecino si es transitable y no ha sido visitado.
+         */
+        private void visit(int current, int neighbor) {
+            if (visited[neighbor] == epoch || maze.isWall(neighbor)) {
+                return;
+            }
+            visited[neighbor] = epoch;
+            parent[neighbor] = current;
+            queue[tail++] = neighbor;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            int step = endIndex;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            return solutionPath;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * BFS paralelo sincronizado por niveles para cuadrículas muy grandes.
+ *
+ * Cada nivel de la frontera se reparte en bloques que se expanden en paralelo en un
+ * ForkJoinPool. Una celda se reclama con compareAndSet sobre un arreglo atómico de sellos,
+ * así que cada celda entra en la frontera una sola vez aunque varios hilos la alcancen.
+ * Cada bloque acumula sus descubrimientos en un búfer local y, al terminar el nivel, los
+ * búferes se concatenan en el orden de los bloques. Los sellos, los padres y las fronteras
+ * son arreglos del SolverWorkspace.
+ *
+ * El camino devuelto es siempre uno de los más cortos. El orden de exploración es nivel por
+ * nivel, como en BFS; dentro de un nivel puede variar ligeramente entre ejecuciones según
+ * qué hilo reclame primero cada celda. Los niveles pequeños se expanden en el hilo que
+ * llama para no pagar el costo de coordinación.
+ *
+ * Todas las instancias con el mismo número de hilos comparten un único ForkJoinPool, que vive
+ * mientras viva la aplicación: crear una instancia por resolución (carrera, MazeBatchApp) no
+ * crea hilos nuevos.
+ */
+public class MazeSolverBFSParalelo implements SteppableSolver {
+
+    /** Por debajo de este tamaño de frontera, el nivel se expande secuencialmente. */
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    /** Tamaño mínimo de cada bloque de trabajo. */
+    private static final int MIN_CHUNK = 1024;
+
+    /** Un ForkJoinPool por número de hilos, compartido por todas las instancias. */
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final int parallelism;
+
+    /**
+     * Crea el algoritmo con un hilo por núcleo disponible.
+     */
+    public MazeSolverBFSParalelo() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea el algoritmo con un número fijo de hilos.
+     * @param parallelism El número de hilos del ForkJoinPool.
+     */
+    public MazeSolverBFSParalelo(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Búfer de enteros que crece según se necesite.
+     */
+    private static final class IntBuffer {
+        int[] data;
+        int size;
+
+        IntBuffer(int[] data) {
+            this.data = data;
+        }
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    /**
+     * Prepara el BFS paralelo paso a paso. Cada llamada a next() devuelve una celda del
+     * nivel actual; al agotarlo, el siguiente nivel completo se expande en paralelo.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que recorre las celdas exploradas nivel por nivel.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private final class Search extends AbstractSolverStepper {
+        private final int startIndex;
+        private final int endIndex;
+        // Una celda está reclamada si su sello es la época actual; parent solo es válido en ellas.
+        private final AtomicIntegerArray claimed;
+        private final int epoch;
+        private final int[] parent;
+        // El nivel actual y el siguiente alternan entre dos arreglos del espacio de trabajo.
+        private int[] frontier;
+        private int[] nextFrontier;
+        private int frontierSize;
+        private int cursor;
+        private boolean goalReached;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            claimed = workspace.atomicMarks();
+            epoch = workspace.epoch();
+            parent = workspace.ints(0);
+            frontier = workspace.ints(1);
+            nextFrontier = workspace.ints(2);
+
+            claimed.set(startIndex, epoch);
+            parent[startIndex] = startIndex;
+            frontier[0] = startIndex;
+            frontierSize = 1;
+            goalReached = startIndex == endIndex;
+        }
+
+        @Override
+        protected int advance() {
+            if (!goalReached && cursor == frontierSize && frontierSize > 0) {
+                int nextSize = expandLevel(this);
+                int[] swap = frontier;
+                frontier = nextFrontier;
+                nextFrontier = swap;
+                frontierSize = nextSize;
+                cursor = 0;
+                goalReached = claimed.get(endIndex) == epoch;
+            }
+            if (goalReached) {
+                solved();
+                return endIndex;
+            }
+            if (cursor == frontierSize) {
+                return FINISHED;
+            }
+            return frontier[cursor++];
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            int step = endIndex;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            return solutionPath;
+        }
+    }
+
+    /**
+     * Expande un nivel completo de la frontera y escribe el siguiente en search.nextFrontier.
+     * @return El tamaño del siguiente nivel.
+     */
+    private int expandLevel(Search search) {
+        int frontierSize = search.frontierSize;
+        if (parallelism == 1 || frontierSize < SEQUENTIAL_THRESHOLD) {
+            // Cada celda se reclama una sola vez, así que el siguiente nivel cabe en el arreglo.
+            return expandRange(search, 0, frontierSize, new IntBuffer(search.nextFrontier)).size;
+        }
+
+        int chunks = Math.min(parallelism * 4, (frontierSize + MIN_CHUNK - 1) / MIN_CHUNK);
+        int chunkSize = (frontierSize + chunks - 1) / chunks;
+        List<Callable<IntBuffer>> tasks = new ArrayList<>(chunks);
+        for (int from = 0; from < frontierSize; from += chunkSize) {
+            int lo = from;
+            int hi = Math.min(frontierSize, from + chunkSize);
+            tasks.add(() -> expandRange(search, lo, hi, new IntBuffer(new int[64])));
+        }
+
+        try {
+            int nextSize = 0;
+            for (Future<IntBuffer> future : getPool().invokeAll(tasks)) {
+                IntBuffer local = future.get();
+                System.arraycopy(local.data, 0, search.nextFrontier, nextSize, local.size);
+                nextSize += local.size;
+            }
+            return nextSize;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("BFS paralelo interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la expansión de un nivel del BFS paralelo", e.getCause());
+        }
+    }
+
+    /**
+     * Expande las celdas frontier[from, to) y reclama sus vecinos libres.
+     * @return El búfer recibido, con las celdas reclamadas por este bloque.
+     */
+    private static IntBuffer expandRange(Search search, int from, int to, IntBuffer out) {
+        MazeGrid maze = search.maze;
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int[] frontier = search.frontier;
+        for (int i = from; i < to; i++) {
+            int current = frontier[i];
+            int row = current / cols;
+            int col = current - row * cols;
+            if (row > 0) claim(search, current, current - cols, out);
+            if (row < rows - 1) claim(search, current, current + cols, out);
+            if (col > 0) claim(search, current, current - 1, out);
+            if (col < cols - 1) claim(search, current, current + 1, out);
+        }
+        return out;
+    }
+
+    private static void claim(Search search, int current, int neighbor, IntBuffer out) {
+        // La lectura previa evita el costo del CAS en las celdas ya reclamadas.
+        int seen = search.claimed.get(neighbor);
+        if (seen != search.epoch && !search.maze.isWall(neighbor)
+                && search.claimed.compareAndSet(neighbor, seen, search.epoch)) {
+            search.parent[neighbor] = current;
+            out.add(neighbor);
+        }
+    }
+
+    private ForkJoinPool getPool() {
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+}
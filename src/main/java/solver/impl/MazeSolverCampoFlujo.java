@@ -0,0 +1,192 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Campo de flujo hacia el destino, pensado para resolver muchas veces con el mismo fin.
+ *
+ * La primera resolución hace un BFS inverso desde el destino que recorre todas las celdas
+ * alcanzables y guarda, para cada una, su distancia al destino (int[]) y la dirección del
+ * siguiente paso (byte[]). Mientras no cambien los muros ni el destino, las resoluciones
+ * siguientes desde cualquier inicio solo siguen esas direcciones: cuestan O(longitud del
+ * camino) y exploran únicamente las celdas del camino. En la primera, las celdas exploradas
+ * son solo las del campo: el camino se sigue sin volver a contar sus celdas.
+ *
+ * El campo se invalida por el sello de muros de la MazeGrid (getWallStamp()), que cambia
+ * al poner o quitar un muro y se conserva en las copias, y por el índice del destino. Por eso
+ * la instancia debe reutilizarse entre resoluciones para aprovechar la caché. El camino
+ * devuelto es uno de los más cortos, aunque puede diferir del de BFS cuando hay empates.
+ */
+public class MazeSolverCampoFlujo implements SteppableSolver {
+
+    private static final int UNREACHABLE = -1;
+    private static final byte UP = 0;
+    private static final byte DOWN = 1;
+    private static final byte LEFT = 2;
+    private static final byte RIGHT = 3;
+
+    /**
+     * Distancias y direcciones hacia un destino, válidas para una disposición de muros.
+     */
+    private static final class FlowField {
+        final long wallStamp;
+        final int goal;
+        final int[] dist;
+        final byte[] toward;
+
+        FlowField(long wallStamp, int goal, int[] dist, byte[] toward) {
+            this.wallStamp = wallStamp;
+            this.goal = goal;
+            this.dist = dist;
+            this.toward = toward;
+        }
+    }
+
+    private FlowField cached;
+
+    /**
+     * Prepara la resolución paso a paso. Si no hay un campo válido para el destino, cada paso
+     * construye una celda del campo y el camino se obtiene al terminarlo; si lo hay, cada
+     * paso recorre una celda del camino desde el inicio.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que devuelve una celda por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private synchronized FlowField cachedFor(MazeGrid maze, int goal) {
+        if (cached != null && cached.wallStamp == maze.getWallStamp() && cached.goal == goal) {
+            return cached;
+        }
+        return null;
+    }
+
+    private synchronized void store(FlowField field) {
+        cached = field;
+    }
+
+    private final class Search extends AbstractSolverStepper {
+        private final int startIndex;
+        private final int endIndex;
+        private FlowField field;
+
+        // Construcción del campo; solo se usa si no había uno válido en caché.
+        private int[] dist;
+        private byte[] toward;
+        private int[] queue;
+        private int head;
+        private int tail;
+
+        // Recorrido del camino siguiendo las direcciones.
+        private final List<Cell> solutionPath = new ArrayList<>();
+        private int walk = UNREACHABLE;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            field = cachedFor(maze, endIndex);
+            if (field == null) {
+                // Los arreglos del campo sobreviven a la búsqueda, así que no salen del espacio de trabajo.
+                dist = new int[maze.size()];
+                toward = new byte[maze.size()];
+                Arrays.fill(dist, UNREACHABLE);
+                queue = workspace.ints(0);
+                dist[endIndex] = 0;
+                queue[tail++] = endIndex;
+            }
+        }
+
+        @Override
+        protected int advance() {
+            if (field == null) {
+                int current = expand(queue[head++]);
+                if (head == tail) {
+                    field = new FlowField(maze.getWallStamp(), endIndex, dist, toward);
+                    store(field);
+                    // Las celdas del camino ya se contaron al construir el campo.
+                    followField();
+                }
+                return current;
+            }
+            if (walk == UNREACHABLE) {
+                if (field.dist[startIndex] == UNREACHABLE) {
+                    return FINISHED;
+                }
+                walk = startIndex;
+            }
+            int current = walk;
+            solutionPath.add(maze.cellAt(current));
+            if (current == endIndex) {
+                solved();
+            } else {
+                walk = stepToward(current, field.toward[current]);
+            }
+            return current;
+        }
+
+        /**
+         * Recorre de una vez el camino desde el inicio, si lo hay, y da la búsqueda por resuelta.
+         */
+        private void followField() {
+            if (field.dist[startIndex] == UNREACHABLE) {
+                return;
+            }
+            for (int current = startIndex; current != endIndex; current = stepToward(current, field.toward[current])) {
+                solutionPath.add(maze.cellAt(current));
+            }
+            solutionPath.add(maze.cellAt(endIndex));
+            solved();
+        }
+
+        /**
+         * Visita los vecinos de una celda en el BFS inverso; cada vecino nuevo apunta hacia ella.
+         */
+        private int expand(int current) {
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int row = current / cols;
+            int col = current - row * cols;
+            int nextDist = dist[current] + 1;
+            if (row > 0) reach(current - cols, DOWN, nextDist);
+            if (row < rows - 1) reach(current + cols, UP, nextDist);
+            if (col > 0) reach(current - 1, RIGHT, nextDist);
+            if (col < cols - 1) reach(current + 1, LEFT, nextDist);
+            return current;
+        }
+
+        private void reach(int neighbor, byte direction, int nextDist) {
+            if (dist[neighbor] != UNREACHABLE || maze.isWall(neighbor)) {
+                return;
+            }
+            dist[neighbor] = nextDist;
+            toward[neighbor] = direction;
+            queue[tail++] = neighbor;
+        }
+
+        private int stepToward(int cell, byte direction) {
+            switch (direction) {
+                case UP: return cell - maze.getCols();
+                case DOWN: return cell + maze.getCols();
+                case LEFT: return cell - 1;
+                default: return cell + 1;
+            }
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            return solutionPath;
+        }
+    }
+}
@@ -1,77 +1,109 @@
 package solver.impl;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import models.Cell;
-import models.CellState;
-import models.SolveResult;
-import solver.MazeSolver;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
 
 /**
  * Implementación del algoritmo de Búsqueda en Profundidad (DFS) que devuelve un resultado completo.
+ * La pila, los padres y las marcas de visitado son arreglos del SolverWorkspace.
  */
-public class MazeSolverDFS implements MazeSolver {
+public class MazeSolverDFS implements SteppableSolver {
+
+    // Orden de vecinos: arriba, abajo, izquierda, derecha.
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
 
     /**
-     * Resuelve el laberinto utilizando el algoritmo DFS.
-     * @param maze La matriz 2D que representa el laberinto.
+     * Prepara la búsqueda DFS paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
      * @param start La celda de inicio.
      * @param end La celda de destino.
-     * @return Un objeto SolveResult que contiene la lista de celdas exploradas y la ruta de la solución.
+     * @return Un stepper que saca una celda de la pila por llamada.
      */
     @Override
-    public SolveResult solve(Cell[][] maze, Cell start, Cell end) {
-        Stack<Cell> stack = new Stack<>();
-        Map<Cell, Cell> parentMap = new HashMap<>();
-        List<Cell> exploredOrder = new ArrayList<>();
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
 
-        stack.push(start);
-        parentMap.put(start, null);
+    private static final class Search extends AbstractSolverStepper {
+        private final int startIndex;
+        private final int endIndex;
+        private final int[] visited;
+        private final int epoch;
+        // Una celda se marca al apilarla, así que entra en la pila una sola vez.
+        private final int[] stack;
+        private final int[] parent;
+        private int top;
 
-        boolean found = false;
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            visited = workspace.marks(0);
+            epoch = workspace.epoch();
+            stack = workspace.ints(0);
+            parent = workspace.ints(1);
 
-        while (!stack.isEmpty()) {
-            Cell current = stack.pop();
-            exploredOrder.add(current);
+            stack[top++] = startIndex;
+            visited[startIndex] = epoch;
+            parent[startIndex] = startIndex;
+        }
 
-            if (current.equals(end)) {
-                found = true;
-                break;
+        @Override
+        protected int advance() {
+            if (top == 0) {
+                return FINISHED;
             }
+            int current = stack[--top];
 
-            int[] dr = {-1, 1, 0, 0};
-            int[] dc = {0, 0, -1, 1};
+            if (current == endIndex) {
+                solved();
+                return current;
+            }
 
+            int row = maze.rowOf(current);
+            int col = maze.colOf(current);
             for (int i = 0; i < 4; i++) {
-                int newRow = current.getRow() + dr[i];
-                int newCol = current.getCol() + dc[i];
+                int newRow = row + DR[i];
+                int newCol = col + DC[i];
 
-                if (isValid(maze, parentMap, newRow, newCol)) {
-                    Cell neighbor = maze[newRow][newCol];
-                    parentMap.put(neighbor, current);
-                    stack.push(neighbor);
+                if (isValid(newRow, newCol)) {
+                    int neighbor = maze.index(newRow, newCol);
+                    visited[neighbor] = epoch;
+                    parent[neighbor] = current;
+                    stack[top++] = neighbor;
                 }
             }
+            return current;
         }
 
-        List<Cell> solutionPath = new ArrayList<>();
-        if (found) {
-            Cell step = end;
-            while (step != null) {
-                solutionPath.add(0, step);
-                step = parentMap.get(step);
+        private boolean isValid(int row, int col) {
+            if (!maze.isInside(row, col)) {
+                return false;
             }
+            if (maze.isWall(row, col)) {
+                return false;
+            }
+            return visited[maze.index(row, col)] != epoch;
         }
-        
-        return new SolveResult(exploredOrder, solutionPath);
-    }
 
-    private boolean isValid(Cell[][] maze, Map<Cell, Cell> parentMap, int row, int col) {
-        if (row < 0 || row >= maze.length || col < 0 || col >= maze[0].length) {
-            return false;
-        }
-        if (maze[row][col].getState() == CellState.WALL) {
-            return false;
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            int step = endIndex;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            return solutionPath;
         }
-        return !parentMap.containsKey(maze[row][col]);
     }
 }
@@ -0,0 +1,169 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Algoritmo de Dijkstra sobre los costos de paso de las celdas (MazeGrid.getCost()).
+ *
+ * Entrar en una celda cuesta su costo, que es un entero pequeño entre MIN_COST y MAX_COST,
+ * así que en lugar de un montículo se usa una cola de cubetas de Dial: una lista por
+ * distancia, en un anillo de MAX_COST + 1 cubetas. Todas las distancias pendientes están
+ * entre la de la cubeta actual y esa más MAX_COST, de modo que nunca chocan dos distancias
+ * en la misma cubeta. Insertar, mejorar una distancia y extraer cuestan O(1).
+ *
+ * Las listas son doblemente enlazadas y van sobre arreglos del espacio de trabajo indexados
+ * por celda, por lo que mejorar la distancia de una celda es sacarla de su cubeta y meterla
+ * en otra. El camino devuelto es siempre el de menor costo; sin costos, uno de los más cortos.
+ */
+public class MazeSolverDijkstra implements SteppableSolver {
+
+    /**
+     * Prepara la búsqueda de Dijkstra paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande la celda de menor costo acumulado por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private static final int NONE = -1;
+        private static final int BUCKETS = MazeGrid.MAX_COST + 1;
+
+        private final int startIndex;
+        private final int endIndex;
+        // dist, parent, next y prev solo son válidos en las celdas con reached[i] == epoch.
+        private final int[] dist;
+        private final int[] parent;
+        private final int[] next;
+        private final int[] prev;
+        private final int[] reached;
+        private final int[] closed;
+        private final int epoch;
+        private final int[] heads = new int[BUCKETS];
+        private final int[] neighbors = new int[4];
+        // Distancia de la cubeta que se está vaciando y número de celdas en todas las cubetas.
+        private int distance;
+        private int pending;
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+
+            dist = workspace.ints(0);
+            next = workspace.ints(1);
+            prev = workspace.ints(2);
+            parent = workspace.ints(3);
+            reached = workspace.marks(0);
+            closed = workspace.marks(1);
+            epoch = workspace.epoch();
+            Arrays.fill(heads, NONE);
+
+            reached[startIndex] = epoch;
+            dist[startIndex] = 0;
+            parent[startIndex] = startIndex;
+            push(startIndex);
+        }
+
+        private void push(int cell) {
+            int bucket = dist[cell] % BUCKETS;
+            int head = heads[bucket];
+            next[cell] = head;
+            prev[cell] = NONE;
+            if (head != NONE) {
+                prev[head] = cell;
+            }
+            heads[bucket] = cell;
+            pending++;
+        }
+
+        private void unlink(int cell) {
+            if (prev[cell] != NONE) {
+                next[prev[cell]] = next[cell];
+            } else {
+                heads[dist[cell] % BUCKETS] = next[cell];
+            }
+            if (next[cell] != NONE) {
+                prev[next[cell]] = prev[cell];
+            }
+            pending--;
+        }
+
+        private int poll() {
+            while (heads[distance % BUCKETS] == NONE) {
+                distance++;
+            }
+            int cell = heads[distance % BUCKETS];
+            unlink(cell);
+            return cell;
+        }
+
+        @Override
+        protected int advance() {
+            if (pending == 0) {
+                return FINISHED;
+            }
+            int current = poll();
+            closed[current] = epoch;
+
+            if (current == endIndex) {
+                solved();
+                return current;
+            }
+
+            int rows = maze.getRows();
+            int cols = maze.getCols();
+            int row = current / cols;
+            int col = current - row * cols;
+            int count = 0;
+            if (row > 0) neighbors[count++] = current - cols;
+            if (row < rows - 1) neighbors[count++] = current + cols;
+            if (col > 0) neighbors[count++] = current - 1;
+            if (col < cols - 1) neighbors[count++] = current + 1;
+
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (closed[neighbor] == epoch || maze.isWall(neighbor)) {
+                    continue;
+                }
+                int nextDist = dist[current] + maze.getCost(neighbor);
+                if (reached[neighbor] == epoch) {
+                    if (nextDist >= dist[neighbor]) {
+                        continue;
+                    }
+                    unlink(neighbor);
+                }
+                reached[neighbor] = epoch;
+                dist[neighbor] = nextDist;
+                parent[neighbor] = current;
+                push(neighbor);
+            }
+            return current;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>();
+            int step = endIndex;
+            while (step != startIndex) {
+                solutionPath.add(maze.cellAt(step));
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            Collections.reverse(solutionPath);
+            return solutionPath;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.MazeEditListener;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Búsqueda jerárquica (HPA*) sobre clústeres de tamaño fijo, para cuadrículas muy grandes.
+ *
+ * El laberinto se divide en clústeres y se precalculan sus entradas y las distancias entre
+ * ellas (ClusterGraph). Una resolución engancha el inicio y el fin a las entradas de su
+ * clúster con un BFS local, busca con A* sobre el grafo de entradas y solo al final refina
+ * cada tramo del camino abstracto con un BFS dentro de su clúster. El coste de una consulta
+ * depende del número de clústeres que cruza el camino y no del tamaño de la cuadrícula.
+ *
+ * El camino es válido pero no siempre el más corto: pasa por las entradas elegidas en cada
+ * borde y, entre el inicio y el fin de un mismo clúster, solo se considera el camino directo
+ * si no sale del clúster. El grafo se guarda según el sello de muros y, con los avisos de
+ * MazeEditListener, solo se reconstruye el clúster de la celda editada, así que la instancia
+ * debe reutilizarse. Una búsqueda en curso, por ejemplo paso a paso, sigue leyendo el grafo
+ * que recibió: si ya se entregó a alguna, la reconstrucción se hace sobre una copia.
+ */
+public class MazeSolverHPA implements SteppableSolver, MazeEditListener {
+
+    /** Lado de los clústeres por defecto, en celdas. */
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+
+    private final int clusterSize;
+    private ClusterGraph graph;
+    // true si graph se entregó a alguna búsqueda y, por tanto, no se puede reparar en el sitio.
+    private boolean graphShared;
+
+    /**
+     * Crea el algoritmo con clústeres de DEFAULT_CLUSTER_SIZE celdas de lado.
+     */
+    public MazeSolverHPA() {
+        this(DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * @param clusterSize El lado de los clústeres, en celdas.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     */
+    public MazeSolverHPA(int clusterSize) {
+        if (clusterSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de los clústeres debe ser positivo: " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+    }
+
+    /**
+     * Prepara la búsqueda paso a paso sobre el grafo de clústeres.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande un nodo del grafo abstracto por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, graphFor(maze), maze.index(start.getRow(), start.getCol()),
+                maze.index(end.getRow(), end.getCol()));
+    }
+
+    /**
+     * Reconstruye los clústeres de la celda editada, o descarta el grafo si se perdió algún cambio.
+     */
+    @Override
+    public synchronized void wallChanged(MazeGrid maze, int index, long previousWallStamp) {
+        if (graph != null && graph.getWallStamp() == previousWallStamp) {
+            if (graphShared) {
+                graph = graph.copy();
+                graphShared = false;
+            }
+            graph.wallChanged(maze, index);
+        } else {
+            graph = null;
+        }
+    }
+
+    private synchronized ClusterGraph graphFor(MazeGrid maze) {
+        if (graph == null || graph.getWallStamp() != maze.getWallStamp()) {
+            graph = new ClusterGraph(maze, clusterSize);
+        }
+        graphShared = true;
+        return graph;
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final ClusterGraph clusters;
+        private final int startIndex;
+        private final int endIndex;
+        private final int endRow;
+        private final int endCol;
+        private final int startCluster;
+        private final int endCluster;
+        // Identificadores abstractos del inicio y del fin, después de los de los nodos.
+        private final int source;
+        private final int target;
+        private final int perCluster;
+
+        private final int[] g;
+        private final int[] parent;
+        private final int[] reached;
+        private final int[] closed;
+        private final int epoch;
+        private final IndexedMinHeap open;
+        // Distancias desde el inicio y desde el fin dentro de sus clústeres.
+        private final int[] startDist;
+        private final int[] endDist;
+
+        Search(MazeGrid maze, ClusterGraph clusters, int startIndex, int endIndex) {
+            super(maze, clusters.idCount() + 2);
+            this.clusters = clusters;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.endRow = endIndex / maze.getCols();
+            this.endCol = endIndex % maze.getCols();
+            startCluster = clusters.clusterOf(startIndex);
+            endCluster = clusters.clusterOf(endIndex);
+            source = clusters.idCount();
+            target = source + 1;
+            perCluster = clusters.nodesPerCluster();
+            g = workspace.ints(0);
+            parent = workspace.ints(1);
+            reached = workspace.marks(0);
+            closed = workspace.marks(1);
+            epoch = workspace.epoch();
+            open = workspace.heap();
+
+            int[] queue = new int[clusters.scratchSize()];
+            startDist = new int[clusters.scratchSize()];
+            endDist = new int[clusters.scratchSize()];
+            clusters.search(maze, startIndex, startDist, null, queue, ClusterGraph.NONE);
+            clusters.search(maze, endIndex, endDist, null, queue, ClusterGraph.NONE);
+            reach(source, 0, ClusterGraph.NONE);
+        }
+
+        private int cellOf(int id) {
+            if (id == source) return startIndex;
+            if (id == target) return endIndex;
+            return clusters.nodeCell(id / perCluster, id % perCluster);
+        }
+
+        private void reach(int id, int distance, int from) {
+            if (closed[id] == epoch || (reached[id] == epoch && distance >= g[id])) {
+                return;
+            }
+            reached[id] = epoch;
+            g[id] = distance;
+            parent[id] = from;
+            int cell = cellOf(id);
+            int h = Math.abs(cell / maze.getCols() - endRow) + Math.abs(cell % maze.getCols() - endCol);
+            open.insertOrUpdate(id, IndexedMinHeap.priority(distance + h, distance));
+        }
+
+        @Override
+        protected int advance() {
+            if (open.isEmpty()) {
+                return FINISHED;
+            }
+            int current = open.poll();
+            closed[current] = epoch;
+            if (current == target) {
+                solved();
+                return endIndex;
+            }
+            if (current == source) {
+                expandSource();
+                return startIndex;
+            }
+
+            int cluster = current / perCluster;
+            int node = current % perCluster;
+            int base = cluster * perCluster;
+            int distance = g[current];
+            for (int other = 0; other < clusters.nodeCount(cluster); other++) {
+                int step = clusters.distance(cluster, node, other);
+                if (other != node && step != ClusterGraph.UNREACHABLE) {
+                    reach(base + other, distance + step, current);
+                }
+            }
+            for (int slot = 0; slot < ClusterGraph.MAX_PARTNERS; slot++) {
+                int partner = clusters.partner(cluster, node, slot);
+                if (partner != ClusterGraph.NONE) {
+                    int partnerCluster = clusters.clusterOf(partner);
+                    reach(partnerCluster * perCluster + clusters.nodeOf(partnerCluster, partner), distance + 1, current);
+                }
+            }
+            int cell = clusters.nodeCell(cluster, node);
+            if (cluster == endCluster && endDist[clusters.localOf(cell)] != ClusterGraph.UNREACHABLE) {
+                reach(target, distance + endDist[clusters.localOf(cell)], current);
+            }
+            return cell;
+        }
+
+        private void expandSource() {
+            int base = startCluster * perCluster;
+            for (int node = 0; node < clusters.nodeCount(startCluster); node++) {
+                int step = startDist[clusters.localOf(clusters.nodeCell(startCluster, node))];
+                if (step != ClusterGraph.UNREACHABLE) {
+                    reach(base + node, step, source);
+                }
+            }
+            if (startCluster == endCluster && startDist[clusters.localOf(endIndex)] != ClusterGraph.UNREACHABLE) {
+                reach(target, startDist[clusters.localOf(endIndex)], source);
+            }
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Integer> waypoints = new ArrayList<>();
+            for (int id = target; id != source; id = parent[id]) {
+                waypoints.add(cellOf(id));
+            }
+            List<Cell> solutionPath = new ArrayList<>(g[target] + 1);
+            solutionPath.add(maze.cellAt(startIndex));
+
+            int[] localDist = new int[clusters.scratchSize()];
+            int[] localParent = new int[clusters.scratchSize()];
+            int[] queue = new int[clusters.scratchSize()];
+            int from = startIndex;
+            for (int i = waypoints.size() - 1; i >= 0; i--) {
+                int to = waypoints.get(i);
+                if (to == from) {
+                    continue;
+                }
+                if (clusters.clusterOf(from) != clusters.clusterOf(to)) {
+                    // Arista entre entradas enfrentadas: celdas vecinas.
+                    solutionPath.add(maze.cellAt(to));
+                } else {
+                    // BFS desde el comienzo del tramo, como startDist, que también sale del
+                    // inicio aunque sea muro; los padres llevan de to a from y se invierten.
+                    clusters.search(maze, from, localDist, localParent, queue, to);
+                    int mark = solutionPath.size();
+                    for (int cell = to; cell != from; cell = localParent[clusters.localOf(cell)]) {
+                        solutionPath.add(maze.cellAt(cell));
+                    }
+                    Collections.reverse(solutionPath.subList(mark, solutionPath.size()));
+                }
+                from = to;
+            }
+            return solutionPath;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Implementación de Jump Point Search (JPS) para cuadrículas con movimientos en 4 direcciones.
+ *
+ * En una sala abierta existen muchísimos caminos más cortos equivalentes que BFS y A* exploran
+ * todos. JPS solo considera caminos "canónicos": los movimientos verticales pueden ir seguidos
+ * de cualquier dirección, pero un movimiento horizontal solo puede girar en vertical cuando la
+ * celda equivalente detrás está bloqueada (vecino forzado). Así se puede saltar en línea recta
+ * por encima de las celdas intermedias y solo se insertan en la frontera los puntos de salto:
+ * <ul>
+ *   <li>Salto horizontal: avanza hasta el destino, un muro o una celda con vecino forzado.</li>
+ *   <li>Salto vertical: avanza hasta el destino, un muro o una celda desde la cual un salto
+ *       horizontal encuentra un punto de salto.</li>
+ * </ul>
+ * Los puntos de salto se ordenan con A* y heurística Manhattan, por lo que el camino es óptimo.
+ * El camino devuelto incluye todas las celdas intermedias saltadas; las celdas exploradas son
+ * los puntos de salto expandidos.
+ */
+public class MazeSolverJPS implements SteppableSolver {
+
+    private static final int NONE = -1;
+
+    /**
+     * Prepara la búsqueda Jump Point Search paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande un punto de salto por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, start, end);
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final int rows;
+        private final int cols;
+        private final int startIndex;
+        private final int endIndex;
+        private final int endRow;
+        private final int endCol;
+        // g y parent solo son válidos en las celdas con reached[i] == epoch.
+        private final int[] g;
+        private final int[] parent;
+        private final int[] reached;
+        private final int[] closed;
+        private final int epoch;
+        private final IndexedMinHeap open;
+        private final int[] successors = new int[4];
+
+        Search(MazeGrid maze, Cell start, Cell end) {
+            super(maze);
+            rows = maze.getRows();
+            cols = maze.getCols();
+            startIndex = maze.index(start.getRow(), start.getCol());
+            endIndex = maze.index(end.getRow(), end.getCol());
+            endRow = end.getRow();
+            endCol = end.getCol();
+
+            g = workspace.ints(0);
+            parent = workspace.ints(1);
+            reached = workspace.marks(0);
+            closed = workspace.marks(1);
+            epoch = workspace.epoch();
+            open = workspace.heap();
+
+            reached[startIndex] = epoch;
+            g[startIndex] = 0;
+            parent[startIndex] = startIndex;
+            open.insertOrUpdate(startIndex, IndexedMinHeap.priority(manhattan(startIndex, endRow, endCol), 0));
+        }
+
+        @Override
+        protected int advance() {
+            if (open.isEmpty()) {
+                return FINISHED;
+            }
+            int current = open.poll();
+            closed[current] = epoch;
+
+            if (current == endIndex) {
+                solved();
+                return current;
+            }
+
+            int count = findSuccessors(current, parent[current], successors);
+            for (int i = 0; i < count; i++) {
+                int jumpPoint = successors[i];
+                if (closed[jumpPoint] == epoch) {
+                    continue;
+                }
+                int nextG = g[current] + distance(current, jumpPoint);
+                if (reached[jumpPoint] == epoch && nextG >= g[jumpPoint]) {
+                    continue;
+                }
+                reached[jumpPoint] = epoch;
+                g[jumpPoint] = nextG;
+                parent[jumpPoint] = current;
+                open.insertOrUpdate(jumpPoint, IndexedMinHeap.priority(nextG + manhattan(jumpPoint, endRow, endCol), nextG));
+            }
+            return current;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            // Reconstruye la lista de puntos de salto y rellena los tramos rectos entre ellos.
+            List<Cell> solutionPath = new ArrayList<>();
+            int hops = 1;
+            for (int step = endIndex; step != startIndex; step = parent[step]) {
+                hops++;
+            }
+            int[] jumpPoints = new int[hops];
+            int step = endIndex;
+            for (int i = hops - 1; i >= 0; i--) {
+                jumpPoints[i] = step;
+                step = parent[step];
+            }
+            solutionPath.add(maze.cellAt(startIndex));
+            for (int i = 1; i < hops; i++) {
+                appendSegment(jumpPoints[i - 1], jumpPoints[i], solutionPath);
+            }
+            return solutionPath;
+        }
+
+        /**
+         * Calcula los puntos de salto sucesores de una celda según la dirección de llegada.
+         * @param current La celda que se expande.
+         * @param from El punto de salto desde el que se llegó (igual a current para el inicio).
+         * @param result Arreglo de salida para los sucesores.
+         * @return La cantidad de sucesores encontrados.
+         */
+        private int findSuccessors(int current, int from, int[] result) {
+            int count = 0;
+            int row = current / cols;
+            int col = current % cols;
+
+            if (from == current) {
+                // Inicio: se prueban las cuatro direcciones.
+                count = addJump(jumpVertical(row, col, -1), result, count);
+                count = addJump(jumpVertical(row, col, 1), result, count);
+                count = addJump(jumpHorizontal(row, col, -1), result, count);
+                count = addJump(jumpHorizontal(row, col, 1), result, count);
+            } else if (from % cols == col) {
+                // Llegada vertical: se sigue en vertical y se puede girar a ambos lados.
+                int dy = from < current ? 1 : -1;
+                count = addJump(jumpVertical(row, col, dy), result, count);
+                count = addJump(jumpHorizontal(row, col, -1), result, count);
+                count = addJump(jumpHorizontal(row, col, 1), result, count);
+            } else {
+                // Llegada horizontal: se sigue en horizontal y solo se gira hacia vecinos forzados.
+                int dx = from < current ? 1 : -1;
+                count = addJump(jumpHorizontal(row, col, dx), result, count);
+                if (isForced(row, col, dx, -1)) {
+                    count = addJump(jumpVertical(row, col, -1), result, count);
+                }
+                if (isForced(row, col, dx, 1)) {
+                    count = addJump(jumpVertical(row, col, 1), result, count);
+                }
+            }
+            return count;
+        }
+
+        private int addJump(int jumpPoint, int[] result, int count) {
+            if (jumpPoint != NONE) {
+                result[count++] = jumpPoint;
+            }
+            return count;
+        }
+
+        /**
+         * Avanza en horizontal desde (row, col) en la dirección dx.
+         * @return El punto de salto encontrado o NONE si se choca con un muro o el borde.
+         */
+        private int jumpHorizontal(int row, int col, int dx) {
+            while (true) {
+                col += dx;
+                if (!isOpen(row, col)) {
+                    return NONE;
+                }
+                int index = row * cols + col;
+                if (index == endIndex || isForced(row, col, dx, -1) || isForced(row, col, dx, 1)) {
+                    return index;
+                }
+            }
+        }
+
+        /**
+         * Avanza en vertical desde (row, col) en la dirección dy.
+         * @return El punto de salto encontrado o NONE si se choca con un muro o el borde.
+         */
+        private int jumpVertical(int row, int col, int dy) {
+            while (true) {
+                row += dy;
+                if (!isOpen(row, col)) {
+                    return NONE;
+                }
+                int index = row * cols + col;
+                if (index == endIndex
+                        || jumpHorizontal(row, col, -1) != NONE
+                        || jumpHorizontal(row, col, 1) != NONE) {
+                    return index;
+                }
+            }
+        }
+
+        /**
+         * Verifica si, moviéndose en horizontal con dirección dx, la celda vertical (row + dy)
+         * es un vecino forzado: está libre pero la celda correspondiente detrás está bloqueada.
+         */
+        private boolean isForced(int row, int col, int dx, int dy) {
+            return isOpen(row + dy, col) && !isOpen(row + dy, col - dx);
+        }
+
+        private boolean isOpen(int row, int col) {
+            return row >= 0 && row < rows && col >= 0 && col < cols && !maze.isWall(row * cols + col);
+        }
+
+        private int manhattan(int index, int goalRow, int goalCol) {
+            return Math.abs(index / cols - goalRow) + Math.abs(index % cols - goalCol);
+        }
+
+        private int distance(int a, int b) {
+            return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+        }
+
+        /**
+         * Añade al camino las celdas del tramo recto (from, to], sin repetir 'from'.
+         */
+        private void appendSegment(int from, int to, List<Cell> path) {
+            int step;
+            if (from / cols == to / cols) {
+                step = to > from ? 1 : -1;
+            } else {
+                step = to > from ? cols : -cols;
+            }
+            for (int index = from + step; ; index += step) {
+                path.add(maze.cellAt(index));
+                if (index == to) {
+                    break;
+                }
+            }
+        }
+    }
+}
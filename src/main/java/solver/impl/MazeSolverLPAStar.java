@@ -0,0 +1,301 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.MazeEditListener;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Implementación de Lifelong Planning A* (LPA*) para volver a resolver tras editar muros.
+ *
+ * La búsqueda se hace desde el destino hacia el inicio y conserva entre resoluciones, para
+ * cada celda, g (la distancia al destino ya establecida) y rhs (la que se deduce de los
+ * vecinos). Una celda es inconsistente si g y rhs difieren, y solo esas celdas están en la
+ * cola de prioridad. Al recibir un cambio de muro por MazeEditListener se recalcula rhs de
+ * la celda y de sus vecinos, y la siguiente resolución expande únicamente las celdas cuya
+ * distancia cambió de verdad, en lugar de repetir la búsqueda completa.
+ *
+ * Mover el inicio solo cambia la heurística: se reordena la cola sin perder las distancias.
+ * Mover el destino, o un cambio de muros que no llegó como aviso (por ejemplo, limpiar el
+ * tablero), descarta el estado y la siguiente resolución empieza de cero. La instancia debe
+ * reutilizarse entre resoluciones y registrarse para recibir los avisos.
+ *
+ * Mientras una búsqueda sin terminar usa el estado (por ejemplo, en el modo paso a paso),
+ * los avisos se aplican a una copia y esa búsqueda sigue con el suyo, que corresponde a su
+ * propio laberinto. Si el laberinto de la búsqueda cambia sin aviso, la búsqueda continúa
+ * con un estado nuevo construido sobre él.
+ */
+public class MazeSolverLPAStar implements SteppableSolver, MazeEditListener {
+
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    /**
+     * Distancias g y rhs hacia un destino, válidas para una disposición de muros.
+     */
+    private static final class State {
+        long wallStamp;
+        final int goal;
+        int start;
+        final int rows;
+        final int cols;
+        final int[] g;
+        final int[] rhs;
+        final IndexedMinHeap open;
+        private final int[] neighbors = new int[4];
+
+        State(MazeGrid maze, int start, int goal) {
+            this.wallStamp = maze.getWallStamp();
+            this.goal = goal;
+            this.start = start;
+            this.rows = maze.getRows();
+            this.cols = maze.getCols();
+            this.g = new int[maze.size()];
+            this.rhs = new int[maze.size()];
+            this.open = new IndexedMinHeap(maze.size());
+            Arrays.fill(g, INF);
+            Arrays.fill(rhs, INF);
+            rhs[goal] = 0;
+            open.insertOrUpdate(goal, key(goal));
+        }
+
+        private State(State other) {
+            this.wallStamp = other.wallStamp;
+            this.goal = other.goal;
+            this.start = other.start;
+            this.rows = other.rows;
+            this.cols = other.cols;
+            this.g = other.g.clone();
+            this.rhs = other.rhs.clone();
+            this.open = other.open.copy();
+        }
+
+        /**
+         * @return Una copia independiente del estado, que se puede modificar sin afectar a este.
+         */
+        State copy() {
+            return new State(this);
+        }
+
+        /**
+         * Clave lexicográfica [min(g, rhs) + h; min(g, rhs)] empaquetada en un long.
+         */
+        long key(int cell) {
+            int best = Math.min(g[cell], rhs[cell]);
+            int h = Math.abs(cell / cols - start / cols) + Math.abs(cell % cols - start % cols);
+            return ((long) (best + h) << 32) | best;
+        }
+
+        void moveStart(int newStart) {
+            start = newStart;
+            open.rekeyAll(this::key);
+        }
+
+        /**
+         * La búsqueda termina cuando ninguna celda de la cola puede mejorar la distancia del inicio.
+         */
+        boolean isSettled() {
+            return rhs[start] == g[start] && (open.isEmpty() || open.peekKey() >= key(start));
+        }
+
+        /**
+         * Expande la celda inconsistente de menor clave.
+         * @return El índice de la celda expandida.
+         */
+        int expand(MazeGrid maze) {
+            int current = open.poll();
+            if (g[current] > rhs[current]) {
+                // Sobreconsistente: su distancia bajó y se propaga a los vecinos.
+                g[current] = rhs[current];
+            } else {
+                // Subconsistente: su distancia subió; se invalida y se recalcula.
+                g[current] = INF;
+                update(maze, current);
+            }
+            int count = neighborsOf(current);
+            for (int i = 0; i < count; i++) {
+                update(maze, neighbors[i]);
+            }
+            return current;
+        }
+
+        /**
+         * Se llama después de que una celda cambió entre muro y camino.
+         */
+        void wallChanged(MazeGrid maze, int cell) {
+            update(maze, cell);
+            int count = neighborsOf(cell);
+            for (int i = 0; i < count; i++) {
+                update(maze, neighbors[i]);
+            }
+            wallStamp = maze.getWallStamp();
+        }
+
+        /**
+         * Recalcula rhs de una celda y la deja en la cola solo si quedó inconsistente.
+         */
+        private void update(MazeGrid maze, int cell) {
+            if (cell != goal) {
+                int best = INF;
+                if (!maze.isWall(cell)) {
+                    int row = cell / cols;
+                    int col = cell - row * cols;
+                    if (row > 0) best = bestVia(maze, cell - cols, best);
+                    if (row < rows - 1) best = bestVia(maze, cell + cols, best);
+                    if (col > 0) best = bestVia(maze, cell - 1, best);
+                    if (col < cols - 1) best = bestVia(maze, cell + 1, best);
+                }
+                rhs[cell] = best;
+            }
+            if (g[cell] != rhs[cell]) {
+                open.insertOrUpdate(cell, key(cell));
+            } else {
+                open.remove(cell);
+            }
+        }
+
+        private int bestVia(MazeGrid maze, int neighbor, int best) {
+            if (g[neighbor] < best - 1 && !maze.isWall(neighbor)) {
+                return g[neighbor] + 1;
+            }
+            return best;
+        }
+
+        private int neighborsOf(int cell) {
+            int row = cell / cols;
+            int col = cell - row * cols;
+            int count = 0;
+            if (row > 0) neighbors[count++] = cell - cols;
+            if (row < rows - 1) neighbors[count++] = cell + cols;
+            if (col > 0) neighbors[count++] = cell - 1;
+            if (col < cols - 1) neighbors[count++] = cell + 1;
+            return count;
+        }
+    }
+
+    private State state;
+    // true si state lo usa una búsqueda sin terminar y, por tanto, no se puede modificar en el sitio.
+    private boolean stateShared;
+
+    /**
+     * Prepara la resolución paso a paso, reutilizando el estado de la resolución anterior
+     * si sigue siendo válido para el destino y los muros.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande una celda inconsistente por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return new Search(maze, prepare(maze, maze.index(start.getRow(), start.getCol()), maze.index(end.getRow(), end.getCol())));
+    }
+
+    /**
+     * Aplica un cambio de muro al estado guardado, o lo descarta si se perdió algún cambio.
+     */
+    @Override
+    public synchronized void wallChanged(MazeGrid maze, int index, long previousWallStamp) {
+        if (state != null && state.wallStamp == previousWallStamp) {
+            if (stateShared) {
+                state = state.copy();
+                stateShared = false;
+            }
+            state.wallChanged(maze, index);
+        } else {
+            state = null;
+        }
+    }
+
+    private synchronized State prepare(MazeGrid maze, int start, int goal) {
+        if (state == null || state.wallStamp != maze.getWallStamp() || state.goal != goal) {
+            state = new State(maze, start, goal);
+        } else {
+            if (stateShared) {
+                // Otra búsqueda sin terminar sigue usando el estado.
+                state = state.copy();
+            }
+            if (state.start != start) {
+                state.moveStart(start);
+            }
+        }
+        stateShared = true;
+        return state;
+    }
+
+    /**
+     * Se llama cuando una búsqueda termina o se cierra: su estado vuelve a poder modificarse en el sitio.
+     */
+    private synchronized void release(State plan) {
+        if (state == plan) {
+            stateShared = false;
+        }
+    }
+
+    private final class Search extends AbstractSolverStepper {
+        private State plan;
+
+        Search(MazeGrid maze, State plan) {
+            super(maze);
+            this.plan = plan;
+        }
+
+        @Override
+        protected int advance() {
+            if (plan.wallStamp != maze.getWallStamp()) {
+                // Los muros de este laberinto cambiaron sin aviso: se sigue con un estado propio.
+                release(plan);
+                plan = new State(maze, plan.start, plan.goal);
+            }
+            if (!plan.isSettled()) {
+                return plan.expand(maze);
+            }
+            release(plan);
+            if (plan.g[plan.start] >= INF) {
+                return FINISHED;
+            }
+            solved();
+            return plan.start;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            release(plan);
+        }
+
+        /**
+         * Desde el inicio se baja siempre al vecino con menor g hasta llegar al destino.
+         */
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            int cols = plan.cols;
+            int[] g = plan.g;
+            List<Cell> solutionPath = new ArrayList<>(g[plan.start] + 1);
+            int step = plan.start;
+            solutionPath.add(maze.cellAt(step));
+            while (step != plan.goal) {
+                int row = step / cols;
+                int col = step - row * cols;
+                int next = step;
+                if (row > 0 && isBetter(step - cols, next)) next = step - cols;
+                if (row < plan.rows - 1 && isBetter(step + cols, next)) next = step + cols;
+                if (col > 0 && isBetter(step - 1, next)) next = step - 1;
+                if (col < cols - 1 && isBetter(step + 1, next)) next = step + 1;
+                step = next;
+                solutionPath.add(maze.cellAt(step));
+            }
+            return solutionPath;
+        }
+
+        /**
+         * Un muro recién puesto puede conservar un g viejo si no hizo falta expandirlo.
+         */
+        private boolean isBetter(int neighbor, int current) {
+            return plan.g[neighbor] < plan.g[current] && !maze.isWall(neighbor);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package solver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Cell;
+import models.MazeGrid;
+import solver.MazeEditListener;
+import solver.SolverStepper;
+import solver.SteppableSolver;
+
+/**
+ * Dijkstra sobre el grafo de cruces que resulta de contraer los pasillos (JunctionGraph).
+ *
+ * En un laberinto generado casi todas las celdas son pasillos de grado 2; en el grafo
+ * contraído cada pasillo es una sola arista con su longitud como peso, así que la búsqueda
+ * solo expande cruces y callejones. El inicio y el fin se enganchan al grafo recorriendo su
+ * pasillo hasta los nodos de cada extremo, y el camino de nodos se vuelve a expandir celda a
+ * celda al final. El camino devuelto es siempre uno de los más cortos.
+ *
+ * El grafo se guarda entre resoluciones según el sello de muros y se repara localmente con
+ * los avisos de MazeEditListener, así que la instancia debe reutilizarse. Una búsqueda en
+ * curso, por ejemplo paso a paso, sigue leyendo el grafo que recibió: si ya se entregó a
+ * alguna, la reparación se hace sobre una copia. Si el inicio o el
+ * fin están en un ciclo sin cruces, que el grafo no representa, se usa MazeSolverBFSIndexado.
+ */
+public class MazeSolverPasillos implements SteppableSolver, MazeEditListener {
+
+    private static final int INF = Integer.MAX_VALUE;
+    /** Marca de parentEdge para los nodos a los que se llega directamente desde el inicio. */
+    private static final int FROM_START = -2;
+
+    private final MazeSolverBFSIndexado fallback = new MazeSolverBFSIndexado();
+    private JunctionGraph graph;
+    // true si graph se entregó a alguna búsqueda y, por tanto, no se puede reparar en el sitio.
+    private boolean graphShared;
+
+    /**
+     * Prepara la búsqueda paso a paso sobre el grafo de pasillos.
+     * @param maze La cuadrícula que representa el laberinto.
+     * @param start La celda de inicio.
+     * @param end La celda de destino.
+     * @return Un stepper que expande un cruce por llamada.
+     */
+    @Override
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        JunctionGraph junctions = graphFor(maze);
+        int startIndex = maze.index(start.getRow(), start.getCol());
+        int endIndex = maze.index(end.getRow(), end.getCol());
+        if (!isAttached(maze, junctions, startIndex) || !isAttached(maze, junctions, endIndex)) {
+            return fallback.start(maze, start, end);
+        }
+        return new Search(maze, junctions, startIndex, endIndex);
+    }
+
+    /**
+     * Repara el grafo guardado, o lo descarta si se perdió algún cambio.
+     */
+    @Override
+    public synchronized void wallChanged(MazeGrid maze, int index, long previousWallStamp) {
+        if (graph != null && graph.getWallStamp() == previousWallStamp) {
+            if (graphShared) {
+                graph = graph.copy();
+                graphShared = false;
+            }
+            graph.wallChanged(maze, index);
+        } else {
+            graph = null;
+        }
+    }
+
+    private synchronized JunctionGraph graphFor(MazeGrid maze) {
+        if (graph == null || graph.getWallStamp() != maze.getWallStamp()) {
+            graph = new JunctionGraph(maze);
+        }
+        graphShared = true;
+        return graph;
+    }
+
+    private static boolean isAttached(MazeGrid maze, JunctionGraph junctions, int cell) {
+        return junctions.isNode(maze, cell) || junctions.corridorOf(cell) != JunctionGraph.NONE;
+    }
+
+    private static final class Search extends AbstractSolverStepper {
+        private final JunctionGraph junctions;
+        private final int startIndex;
+        private final int endIndex;
+        private final int[] dist;
+        private final int[] parentEdge;
+        private final int[] parentNode;
+        private final int[] reached;
+        private final int[] closed;
+        private final int epoch;
+        private final IndexedMinHeap open;
+        private final int[] edges = new int[4];
+
+        // Nodos en los que el fin se engancha al grafo, su distancia al fin y la celda por la
+        // que se sale del fin hacia ellos (NONE si el fin es un nodo).
+        private final int[] targetNode = {JunctionGraph.NONE, JunctionGraph.NONE};
+        private final int[] targetDist = new int[2];
+        private final int[] targetVia = {JunctionGraph.NONE, JunctionGraph.NONE};
+
+        private int best = INF;
+        private int bestTarget = JunctionGraph.NONE;
+        // Si inicio y fin comparten pasillo, celda por la que se sale del inicio hacia el fin.
+        private int directVia = JunctionGraph.NONE;
+
+        // Resultado de walkToNode: el nodo al que se llegó y, si se pasó por el fin, a qué distancia.
+        private int lastWalked;
+        private int metEnd;
+
+        Search(MazeGrid maze, JunctionGraph junctions, int startIndex, int endIndex) {
+            super(maze);
+            this.junctions = junctions;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            dist = workspace.ints(0);
+            parentEdge = workspace.ints(1);
+            parentNode = workspace.ints(2);
+            reached = workspace.marks(0);
+            closed = workspace.marks(1);
+            epoch = workspace.epoch();
+            open = workspace.heap();
+
+            if (startIndex == endIndex) {
+                best = 0;
+                return;
+            }
+            int[] ends = new int[4];
+            if (junctions.isNode(maze, endIndex)) {
+                targetNode[0] = endIndex;
+            } else {
+                junctions.freeNeighbors(maze, endIndex, ends);
+                for (int side = 0; side < 2; side++) {
+                    targetVia[side] = ends[side];
+                    targetDist[side] = walkToNode(endIndex, ends[side]);
+                    targetNode[side] = lastWalked;
+                }
+            }
+            if (junctions.isNode(maze, startIndex)) {
+                reach(startIndex, 0, JunctionGraph.NONE, JunctionGraph.NONE);
+            } else {
+                junctions.freeNeighbors(maze, startIndex, ends);
+                for (int side = 0; side < 2; side++) {
+                    int length = walkToNode(startIndex, ends[side]);
+                    if (metEnd >= 0 && metEnd < best) {
+                        best = metEnd;
+                        directVia = ends[side];
+                    }
+                    reach(lastWalked, length, FROM_START, ends[side]);
+                }
+            }
+        }
+
+        /**
+         * Recorre un pasillo desde una celda hasta el primer nodo.
+         * @return El número de pasos hasta el nodo.
+         */
+        private int walkToNode(int from, int via) {
+            int prev = from;
+            int current = via;
+            int length = 1;
+            metEnd = -1;
+            while (!junctions.isNode(maze, current)) {
+                if (current == endIndex) {
+                    metEnd = length;
+                }
+                int next = junctions.continueCorridor(maze, current, prev);
+                prev = current;
+                current = next;
+                length++;
+            }
+            if (current == endIndex) {
+                metEnd = length;
+            }
+            lastWalked = current;
+            return length;
+        }
+
+        private void reach(int node, int distance, int edge, int from) {
+            if (closed[node] == epoch || (reached[node] == epoch && distance >= dist[node])) {
+                return;
+            }
+            reached[node] = epoch;
+            dist[node] = distance;
+            parentEdge[node] = edge;
+            parentNode[node] = from;
+            open.insertOrUpdate(node, distance);
+        }
+
+        @Override
+        protected int advance() {
+            if (!open.isEmpty() && open.peekKey() < best) {
+                int current = open.poll();
+                closed[current] = epoch;
+                for (int side = 0; side < 2; side++) {
+                    if (targetNode[side] == current && dist[current] + targetDist[side] < best) {
+                        best = dist[current] + targetDist[side];
+                        bestTarget = side;
+                    }
+                }
+                int count = junctions.edgesOf(current, edges);
+                for (int i = 0; i < count; i++) {
+                    int edge = edges[i];
+                    reach(junctions.target(edge), dist[current] + junctions.weight(edge), edge, current);
+                }
+                return current;
+            }
+            if (best == INF) {
+                return FINISHED;
+            }
+            solved();
+            return endIndex;
+        }
+
+        @Override
+        protected List<Cell> buildSolutionPath() {
+            List<Cell> solutionPath = new ArrayList<>(best + 1);
+            solutionPath.add(maze.cellAt(startIndex));
+            if (startIndex == endIndex) {
+                return solutionPath;
+            }
+            if (bestTarget == JunctionGraph.NONE) {
+                appendWalk(solutionPath, startIndex, directVia, endIndex);
+                return solutionPath;
+            }
+
+            // Cadena de aristas desde el nodo de llegada hasta el primer nodo.
+            int node = targetNode[bestTarget];
+            List<Integer> chain = new ArrayList<>();
+            while (parentEdge[node] >= 0) {
+                chain.add(node);
+                node = parentNode[node];
+            }
+            if (parentEdge[node] == FROM_START) {
+                appendWalk(solutionPath, startIndex, parentNode[node], node);
+            }
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                int to = chain.get(i);
+                appendWalk(solutionPath, parentNode[to], junctions.firstCell(parentEdge[to]), to);
+            }
+            if (targetVia[bestTarget] != JunctionGraph.NONE) {
+                // El tramo nodo -> fin es el recorrido fin -> nodo invertido, sin repetir el nodo.
+                List<Cell> tail = new ArrayList<>();
+                tail.add(maze.cellAt(endIndex));
+                appendWalk(tail, endIndex, targetVia[bestTarget], targetNode[bestTarget]);
+                for (int i = tail.size() - 2; i >= 0; i--) {
+                    solutionPath.add(tail.get(i));
+                }
+            }
+            return solutionPath;
+        }
+
+        /**
+         * Añade las celdas de un pasillo desde from (excluida) por via hasta stop (incluida).
+         */
+        private void appendWalk(List<Cell> path, int from, int via, int stop) {
+            int prev = from;
+            int current = via;
+            path.add(maze.cellAt(current));
+            while (current != stop) {
+                int next = junctions.continueCorridor(maze, current, prev);
+                prev = current;
+                current = next;
+                path.add(maze.cellAt(current));
+            }
+        }
+    }
+}
@@ -1,68 +1,29 @@
 package solver.impl;
 
-import java.util.ArrayList;
-import java.util.List;
 import models.Cell;
-import models.CellState;
-import models.SolveResult;
-import solver.MazeSolver;
+import models.MazeGrid;
+import solver.SolverStepper;
+import solver.SteppableSolver;
 
 /**
  * Implementación de un algoritmo recursivo (4 direcciones) que devuelve un resultado completo.
+ * La recursión se ejecuta sobre una pila explícita (IterativeDepthFirstEngine) para no
+ * desbordar la pila de la JVM en laberintos grandes.
  */
-public class MazeSolverRecursivoCompleto implements MazeSolver {
+public class MazeSolverRecursivoCompleto implements SteppableSolver {
 
-    private Cell[][] maze;
-    private boolean[][] visited;
-    private List<Cell> solutionPath;
-    private List<Cell> exploredOrder;
+    private static final IterativeDepthFirstEngine ENGINE =
+            new IterativeDepthFirstEngine(new int[]{1, -1, 0, 0}, new int[]{0, 0, 1, -1}, false);
 
     /**
-     * Resuelve el laberinto utilizando un algoritmo recursivo en 4 direcciones.
-     * @param maze La matriz 2D que representa el laberinto.
+     * Prepara la búsqueda paso a paso.
+     * @param maze La cuadrícula que representa el laberinto.
      * @param start La celda de inicio.
      * @param end La celda de destino.
-     * @return Un objeto SolveResult que contiene la lista de celdas exploradas y la ruta de la solución.
+     * @return Un stepper que avanza una celda visitada por llamada.
      */
     @Override
-    public SolveResult solve(Cell[][] maze, Cell start, Cell end) {
-        this.maze = maze;
-        this.visited = new boolean[maze.length][maze[0].length];
-        this.solutionPath = new ArrayList<>();
-        this.exploredOrder = new ArrayList<>();
-
-        findPath(start.getRow(), start.getCol(), end);
-        
-        return new SolveResult(exploredOrder, solutionPath);
-    }
-
-    private boolean findPath(int row, int col, Cell end) {
-        if (row < 0 || row >= maze.length || col < 0 || col >= maze[0].length) {
-            return false;
-        }
-        if (maze[row][col].getState() == CellState.WALL || visited[row][col]) {
-            return false;
-        }
-
-        visited[row][col] = true;
-        Cell current = maze[row][col];
-        exploredOrder.add(current);
-
-        if (current.equals(end)) {
-            solutionPath.add(current);
-            return true;
-        }
-
-        int[] dr = {1, -1, 0, 0};
-        int[] dc = {0, 0, 1, -1};
-
-        for (int i = 0; i < 4; i++) {
-            if (findPath(row + dr[i], col + dc[i], end)) {
-                solutionPath.add(0, current);
-                return true;
-            }
-        }
-        
-        return false;
+    public SolverStepper start(MazeGrid maze, Cell start, Cell end) {
+        return ENGINE.start(maze, start, end);
     }
 }
@@ -0,0 +1,165 @@
+package solver.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Arreglos de trabajo reutilizables para los algoritmos de resolución.
+ *
+ * Cada hilo guarda un espacio de trabajo libre. Un stepper lo toma con acquire() al empezar
+ * y lo devuelve con release() al terminar, de modo que resolver muchas veces laberintos del
+ * mismo tamaño no vuelve a reservar memoria. Si el espacio del hilo está ocupado (por ejemplo,
+ * dos búsquedas paso a paso a la vez) se crea uno nuevo.
+ *
+ * Las marcas de "visitado" usan sellos de época: una celda está marcada en una capa si su
+ * valor es igual a la época actual. Empezar una búsqueda nueva solo incrementa la época, así
+ * que el reinicio es O(1) en lugar de limpiar los arreglos. Los arreglos de enteros y bytes
+ * conservan basura de búsquedas anteriores: solo deben leerse en posiciones marcadas.
+ *
+ * Los arreglos se reservan la primera vez que se piden y se dimensionan a la mayor cuadrícula
+ * resuelta en el hilo, que es la memoria que queda retenida entre búsquedas.
+ */
+final class SolverWorkspace {
+
+    private static final int MARK_LAYERS = 2;
+    private static final int INT_SLOTS = 6;
+    private static final int LONG_SLOTS = 3;
+    private static final ThreadLocal<SolverWorkspace> IDLE = new ThreadLocal<>();
+
+    private int capacity;
+    private int epoch;
+    private final int[][] marks = new int[MARK_LAYERS][];
+    private final int[][] ints = new int[INT_SLOTS][];
+    private byte[] bytes;
+    private final long[][] longs = new long[LONG_SLOTS][];
+    private IndexedMinHeap heap;
+    private AtomicIntegerArray atomicMarks;
+
+    private SolverWorkspace() {
+    }
+
+    /**
+     * Toma el espacio de trabajo libre del hilo actual, o crea uno, y empieza una época nueva.
+     * @param size El número de celdas de la cuadrícula.
+     * @return Un espacio de trabajo con todas las marcas limpias.
+     */
+    static SolverWorkspace acquire(int size) {
+        SolverWorkspace workspace = IDLE.get();
+        if (workspace == null) {
+            workspace = new SolverWorkspace();
+        } else {
+            IDLE.set(null);
+        }
+        workspace.begin(size);
+        return workspace;
+    }
+
+    /**
+     * Devuelve el espacio de trabajo al hilo actual. No debe usarse después de liberarlo.
+     */
+    void release() {
+        if (IDLE.get() == null) {
+            IDLE.set(this);
+        }
+    }
+
+    private void begin(int size) {
+        if (size > capacity) {
+            capacity = size;
+            Arrays.fill(marks, null);
+            Arrays.fill(ints, null);
+            bytes = null;
+            Arrays.fill(longs, null);
+            heap = null;
+            atomicMarks = null;
+            epoch = 0;
+        }
+        if (epoch == Integer.MAX_VALUE) {
+            // Al agotar las épocas se limpian las marcas una sola vez y se empieza de nuevo.
+            for (int[] layer : marks) {
+                if (layer != null) {
+                    Arrays.fill(layer, 0);
+                }
+            }
+            if (atomicMarks != null) {
+                atomicMarks = new AtomicIntegerArray(capacity);
+            }
+            epoch = 0;
+        }
+        epoch++;
+        if (heap != null) {
+            heap.clear();
+        }
+    }
+
+    /**
+     * @return La época actual; una celda está marcada si su sello es igual a este valor.
+     * Nunca es 0, así que escribir 0 desmarca una celda.
+     */
+    int epoch() {
+        return epoch;
+    }
+
+    /**
+     * @param layer La capa de marcas, 0 o 1.
+     * @return Los sellos de época de la capa.
+     */
+    int[] marks(int layer) {
+        if (marks[layer] == null) {
+            marks[layer] = new int[capacity];
+        }
+        return marks[layer];
+    }
+
+    /**
+     * @param slot El arreglo pedido, de 0 a 5.
+     * @return Un arreglo de al menos tantas posiciones como celdas, con contenido indefinido.
+     */
+    int[] ints(int slot) {
+        if (ints[slot] == null) {
+            ints[slot] = new int[capacity];
+        }
+        return ints[slot];
+    }
+
+    /**
+     * @return Un arreglo de bytes de al menos tantas posiciones como celdas, con contenido indefinido.
+     */
+    byte[] bytes() {
+        if (bytes == null) {
+            bytes = new byte[capacity];
+        }
+        return bytes;
+    }
+
+    /**
+     * @param slot El arreglo pedido, de 0 a 2.
+     * @return Un arreglo de long de al menos tantas posiciones como celdas, con contenido indefinido.
+     */
+    long[] longs(int slot) {
+        if (longs[slot] == null) {
+            longs[slot] = new long[capacity];
+        }
+        return longs[slot];
+    }
+
+    /**
+     * @return Un montículo indexado vacío con capacidad para todas las celdas.
+     */
+    IndexedMinHeap heap() {
+        if (heap == null) {
+            heap = new IndexedMinHeap(capacity);
+        }
+        return heap;
+    }
+
+    /**
+     * @return Sellos de época que pueden reclamarse con compareAndSet desde varios hilos.
+     */
+    AtomicIntegerArray atomicMarks() {
+        if (atomicMarks == null) {
+            atomicMarks = new AtomicIntegerArray(capacity);
+        }
+        return atomicMarks;
+    }
+}
@@ -0,0 +1,178 @@
+package solver.impl;
+
+import java.util.Arrays;
+
+import models.MazeGrid;
+
+/**
+ * Índice de caminos para laberintos perfectos, cuyas celdas libres forman un árbol.
+ *
+ * Se construye con un BFS que enraíza cada componente de celdas libres y guarda, en
+ * arreglos int[] indexados por celda, el padre, la profundidad, la raíz de la componente y
+ * un puntero de salto. Los punteros de salto siguen el esquema binario sesgado de Myers:
+ * cada celda apunta a su padre o a un ancestro lejano según la profundidad, con lo que el
+ * ancestro común más bajo (LCA) de dos celdas se encuentra en O(log n) usando solo O(n)
+ * memoria, a diferencia de una tabla de saltos binarios de O(n log n).
+ *
+ * Con el LCA, la longitud del camino entre dos celdas sale en O(log n) y el camino en
+ * O(longitud), sin búsqueda. Si las celdas libres tienen algún ciclo (por ejemplo, porque se
+ * quitó un muro), el índice lo detecta al construirse e isForest() devuelve false.
+ */
+final class TreePathIndex {
+
+    private static final int FREE_UNSEEN = -1;
+
+    private final long wallStamp;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[] jump;
+    private final int[] root;
+    private final boolean forest;
+
+    /**
+     * Construye el índice en O(celdas).
+     * @param maze La cuadrícula; los muros no forman parte del árbol.
+     */
+    TreePathIndex(MazeGrid maze) {
+        int size = maze.size();
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        wallStamp = maze.getWallStamp();
+        parent = new int[size];
+        depth = new int[size];
+        jump = new int[size];
+        root = new int[size];
+        Arrays.fill(root, FREE_UNSEEN);
+
+        int[] queue = new int[size];
+        long vertices = 0;
+        long edges = 0;
+        long components = 0;
+        for (int origin = 0; origin < size; origin++) {
+            if (maze.isWall(origin)) {
+                continue;
+            }
+            vertices++;
+            // Cada arista entre celdas libres se cuenta una vez, desde su celda izquierda o superior.
+            if (origin % cols < cols - 1 && !maze.isWall(origin + 1)) edges++;
+            if (origin / cols < rows - 1 && !maze.isWall(origin + cols)) edges++;
+            if (root[origin] != FREE_UNSEEN) {
+                continue;
+            }
+
+            components++;
+            parent[origin] = origin;
+            jump[origin] = origin;
+            depth[origin] = 0;
+            root[origin] = origin;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = origin;
+            while (head < tail) {
+                int current = queue[head++];
+                int row = current / cols;
+                int col = current - row * cols;
+                if (row > 0) tail = attach(maze, current, current - cols, origin, queue, tail);
+                if (row < rows - 1) tail = attach(maze, current, current + cols, origin, queue, tail);
+                if (col > 0) tail = attach(maze, current, current - 1, origin, queue, tail);
+                if (col < cols - 1) tail = attach(maze, current, current + 1, origin, queue, tail);
+            }
+        }
+        // Un bosque tiene exactamente una arista menos que vértices por cada componente.
+        forest = edges == vertices - components;
+    }
+
+    private int attach(MazeGrid maze, int current, int child, int origin, int[] queue, int tail) {
+        if (root[child] != FREE_UNSEEN || maze.isWall(child)) {
+            return tail;
+        }
+        parent[child] = current;
+        depth[child] = depth[current] + 1;
+        root[child] = origin;
+        // Si los dos saltos anteriores cubren la misma distancia, se unen en uno el doble de largo.
+        int up = jump[current];
+        if (depth[current] - depth[up] == depth[up] - depth[jump[up]]) {
+            jump[child] = jump[up];
+        } else {
+            jump[child] = current;
+        }
+        queue[tail++] = child;
+        return tail;
+    }
+
+    /**
+     * @return El sello de muros de la cuadrícula para la que se construyó el índice.
+     */
+    long getWallStamp() {
+        return wallStamp;
+    }
+
+    /**
+     * @return true si las celdas libres no tienen ciclos y el índice puede responder consultas.
+     */
+    boolean isForest() {
+        return forest;
+    }
+
+    /**
+     * @return true si ambas celdas son libres y pertenecen al mismo árbol.
+     */
+    boolean isConnected(int a, int b) {
+        return root[a] != FREE_UNSEEN && root[a] == root[b];
+    }
+
+    /**
+     * Ancestro común más bajo de dos celdas conectadas, en O(log n).
+     */
+    int lowestCommonAncestor(int a, int b) {
+        if (depth[a] < depth[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        a = ancestorAtDepth(a, depth[b]);
+        // A igual profundidad los saltos de ambas celdas tienen la misma longitud.
+        while (a != b) {
+            if (jump[a] != jump[b]) {
+                a = jump[a];
+                b = jump[b];
+            } else {
+                a = parent[a];
+                b = parent[b];
+            }
+        }
+        return a;
+    }
+
+    private int ancestorAtDepth(int cell, int targetDepth) {
+        while (depth[cell] > targetDepth) {
+            cell = depth[jump[cell]] >= targetDepth ? jump[cell] : parent[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Número de pasos del único camino entre dos celdas conectadas.
+     */
+    int distance(int a, int b) {
+        return depth[a] + depth[b] - 2 * depth[lowestCommonAncestor(a, b)];
+    }
+
+    /**
+     * Celdas del único camino entre dos celdas conectadas, de a hasta b inclusive.
+     */
+    int[] path(int a, int b) {
+        int lca = lowestCommonAncestor(a, b);
+        int[] path = new int[depth[a] + depth[b] - 2 * depth[lca] + 1];
+        int front = 0;
+        for (int step = a; step != lca; step = parent[step]) {
+            path[front++] = step;
+        }
+        path[front] = lca;
+        int back = path.length - 1;
+        for (int step = b; step != lca; step = parent[step]) {
+            path[back--] = step;
+        }
+        return path;
+    }
+}
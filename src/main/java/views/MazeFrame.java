@@ -13,6 +13,9 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 
+import models.MazeGrid;
+import solver.MazeSolverFactory;
+
 /**
  * Representa la ventana principal (JFrame) de la aplicación "Maze Creator".
  *
@@ -33,6 +36,8 @@ public class MazeFrame extends JFrame {
     private JButton setStartButton;
     private JButton setEndButton;
     private JButton toggleWallButton;
+    private JButton setCostButton;
+    private JComboBox<Integer> costoComboBox;
 
     // Panel del Laberinto (Central)
     private MazePanel mazePanel;
@@ -41,7 +46,10 @@ public class MazeFrame extends JFrame {
     private JComboBox<String> algoritmoComboBox;
     private JButton resolverButton;
     private JButton pasoAPasoButton;
+    private JButton compararButton;
     private JButton limpiarButton;
+    private JButton cancelarButton;
+    private JLabel estadoLabel;
 
     /**
      * Construye y configura la ventana principal de la aplicación.
@@ -104,10 +112,19 @@ public class MazeFrame extends JFrame {
         setStartButton = new JButton("Set Start");
         setEndButton = new JButton("Set End");
         toggleWallButton = new JButton("Toggle Wall");
+        setCostButton = new JButton("Set Cost");
+
+        costoComboBox = new JComboBox<>();
+        for (int cost = MazeGrid.MIN_COST; cost <= MazeGrid.MAX_COST; cost++) {
+            costoComboBox.addItem(cost);
+        }
 
         designPanel.add(setStartButton);
         designPanel.add(setEndButton);
         designPanel.add(toggleWallButton);
+        designPanel.add(setCostButton);
+        designPanel.add(new JLabel("Costo:"));
+        designPanel.add(costoComboBox);
         add(designPanel, BorderLayout.NORTH);
     }
 
@@ -119,17 +136,23 @@ public class MazeFrame extends JFrame {
         JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         controlPanel.add(new JLabel("Algoritmo:"));
 
-        String[] algoritmos = {"Recursivo", "Recursivo Completo", "Recursivo Completo BT", "BFS", "DFS"};
-        algoritmoComboBox = new JComboBox<>(algoritmos);
+        algoritmoComboBox = new JComboBox<>(MazeSolverFactory.getAlgorithmNames());
         controlPanel.add(algoritmoComboBox);
 
         resolverButton = new JButton("Resolver");
         pasoAPasoButton = new JButton("Paso a paso");
+        compararButton = new JButton("Comparar todos");
         limpiarButton = new JButton("Limpiar");
+        cancelarButton = new JButton("Cancelar");
+        cancelarButton.setEnabled(false);
+        estadoLabel = new JLabel(" ");
 
         controlPanel.add(resolverButton);
         controlPanel.add(pasoAPasoButton);
+        controlPanel.add(compararButton);
         controlPanel.add(limpiarButton);
+        controlPanel.add(cancelarButton);
+        controlPanel.add(estadoLabel);
         add(controlPanel, BorderLayout.SOUTH);
     }
 
@@ -149,11 +172,38 @@ public class MazeFrame extends JFrame {
         setStartButton.addActionListener(listener);
         setEndButton.addActionListener(listener);
         toggleWallButton.addActionListener(listener);
+        setCostButton.addActionListener(listener);
 
         // Botones de control
         resolverButton.addActionListener(listener);
         pasoAPasoButton.addActionListener(listener);
+        compararButton.addActionListener(listener);
         limpiarButton.addActionListener(listener);
+        cancelarButton.addActionListener(listener);
+    }
+
+    /**
+     * Habilita o deshabilita los controles mientras se resuelve en segundo plano.
+     * Durante la resolución solo queda habilitado el botón "Cancelar".
+     *
+     * @param busy true si hay una resolución en curso.
+     */
+    public void setBusy(boolean busy) {
+        resolverButton.setEnabled(!busy);
+        pasoAPasoButton.setEnabled(!busy);
+        compararButton.setEnabled(!busy);
+        limpiarButton.setEnabled(!busy);
+        algoritmoComboBox.setEnabled(!busy);
+        cancelarButton.setEnabled(busy);
+    }
+
+    /**
+     * Muestra un mensaje de estado junto a los controles.
+     *
+     * @param text El texto a mostrar.
+     */
+    public void setStatus(String text) {
+        estadoLabel.setText(text);
     }
 
     /**
@@ -174,4 +224,13 @@ public class MazeFrame extends JFrame {
     public String getSelectedAlgorithm() {
         return (String) algoritmoComboBox.getSelectedItem();
     }
+
+    /**
+     * Devuelve el costo de paso seleccionado para el modo "Set Cost".
+     *
+     * @return Un costo entre MazeGrid.MIN_COST y MazeGrid.MAX_COST.
+     */
+    public int getSelectedCost() {
+        return (Integer) costoComboBox.getSelectedItem();
+    }
 }
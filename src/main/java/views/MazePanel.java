@@ -3,13 +3,13 @@ package views;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import javax.swing.*;
-import models.Cell;
 import models.CellState;
+import models.MazeGrid;
 
 /**
  * Panel personalizado (JPanel) que renderiza visualmente el laberinto.
  *
- * Esta clase es responsable de todo el dibujo. Toma un modelo de datos 2D (Cell[][])
+ * Esta clase es responsable de todo el dibujo. Toma un modelo de datos compacto (MazeGrid)
  * y lo traduce en una representación gráfica de celdas de colores. También captura
  * los eventos del ratón para permitir la edición interactiva del laberinto.
  *
@@ -18,7 +18,10 @@ import models.CellState;
  */
 public class MazePanel extends JPanel {
 
-    private Cell[][] mazeModel;
+    // Lado mínimo de celda, en píxeles, para escribir su costo.
+    private static final int MIN_COST_LABEL_SIZE = 14;
+
+    private MazeGrid mazeModel;
     private int cellSize;
     private final int rows;
     private final int cols;
@@ -33,12 +36,7 @@ public class MazePanel extends JPanel {
         this.rows = rows;
         this.cols = cols;
         // Inicializa un modelo vacío para evitar errores al inicio.
-        this.mazeModel = new Cell[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                mazeModel[i][j] = new Cell(i, j); // Por defecto, todas son PATH
-            }
-        }
+        this.mazeModel = new MazeGrid(rows, cols); // Por defecto, todas son PATH
 
         // Calcula un tamaño preferido para el panel.
         // Esto ayuda al método pack() de JFrame a dimensionar la ventana correctamente.
@@ -72,7 +70,7 @@ public class MazePanel extends JPanel {
         // Itera sobre el modelo de datos y dibuja cada celda
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                drawCell(g, mazeModel[row][col]);
+                drawCell(g, row, col, mazeModel.getState(row, col), mazeModel.getCost(row, col));
             }
         }
     }
@@ -81,19 +79,43 @@ public class MazePanel extends JPanel {
      * Dibuja una única celda en el panel.
      *
      * @param g El contexto gráfico.
-     * @param cell La celda a dibujar.
+     * @param row La fila de la celda.
+     * @param col La columna de la celda.
+     * @param state El estado de la celda.
+     * @param cost El costo de paso de la celda.
      */
-    private void drawCell(Graphics g, Cell cell) {
-        int x = cell.getCol() * cellSize;
-        int y = cell.getRow() * cellSize;
+    private void drawCell(Graphics g, int row, int col, CellState state, int cost) {
+        int x = col * cellSize;
+        int y = row * cellSize;
 
         // 1. Elige el color de fondo basado en el estado de la celda
-        g.setColor(getColorForState(cell.getState()));
+        g.setColor(state == CellState.PATH ? getColorForCost(cost) : getColorForState(state));
         g.fillRect(x, y, cellSize, cellSize);
 
         // 2. Dibuja un borde negro para la cuadrícula
         g.setColor(Color.BLACK);
         g.drawRect(x, y, cellSize, cellSize);
+
+        // 3. Escribe el costo si no es el mínimo y la celda es lo bastante grande para leerlo
+        if (cost > MazeGrid.MIN_COST && state != CellState.WALL && cellSize >= MIN_COST_LABEL_SIZE) {
+            g.setColor(state == CellState.SOLUTION ? Color.WHITE : Color.BLACK);
+            FontMetrics metrics = g.getFontMetrics();
+            String label = Integer.toString(cost);
+            g.drawString(label, x + (cellSize - metrics.stringWidth(label)) / 2,
+                    y + (cellSize + metrics.getAscent() - metrics.getDescent()) / 2);
+        }
+    }
+
+    /**
+     * Devuelve el color de una celda libre según su costo: blanco con el costo mínimo y
+     * cada vez más oscuro hasta el máximo.
+     *
+     * @param cost El costo de paso de la celda.
+     * @return El color para dibujar esa celda.
+     */
+    private Color getColorForCost(int cost) {
+        int shade = 255 - (cost - MazeGrid.MIN_COST) * 120 / (MazeGrid.MAX_COST - MazeGrid.MIN_COST);
+        return new Color(255, shade, shade - (255 - shade) / 2);
     }
 
     /**
@@ -124,9 +146,9 @@ public class MazePanel extends JPanel {
      * Actualiza el modelo de datos del laberinto y solicita un redibujado.
      * El controlador llamará a este método cuando el modelo cambie.
      *
-     * @param mazeModel La nueva matriz de celdas a dibujar.
+     * @param mazeModel La nueva cuadrícula a dibujar.
      */
-    public void setMazeModel(Cell[][] mazeModel) {
+    public void setMazeModel(MazeGrid mazeModel) {
         this.mazeModel = mazeModel;
         repaint(); // Le dice a Swing que este componente necesita ser redibujado
     }
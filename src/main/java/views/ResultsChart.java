@@ -54,10 +54,12 @@ public class ResultsChart extends JFrame {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         String series1 = "Tiempo (ns)";
         String series2 = "Celdas Camino";
+        String series3 = "Nodos Expandidos";
 
         for (AlgorithmResult result : results) {
             dataset.addValue(result.getExecutionTime(), series1, result.getAlgorithmName());
             dataset.addValue(result.getPathLength(), series2, result.getAlgorithmName());
+            dataset.addValue(result.getExpandedNodes(), series3, result.getAlgorithmName());
         }
 
         return dataset;
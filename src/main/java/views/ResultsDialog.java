@@ -28,10 +28,10 @@ public class ResultsDialog extends JDialog {
      */
     public ResultsDialog(JFrame owner) {
         super(owner, "Resultados Guardados", true);
-        setSize(500, 300);
+        setSize(600, 300);
         setLayout(new BorderLayout(5, 5));
 
-        String[] columnNames = {"Algoritmo", "Celdas Camino", "Tiempo (ns)"};
+        String[] columnNames = {"Algoritmo", "Celdas Camino", "Costo Camino", "Tiempo (ns)", "Nodos Expandidos"};
         tableModel = new DefaultTableModel(columnNames, 0);
         resultsTable = new JTable(tableModel);
 
@@ -59,7 +59,9 @@ public class ResultsDialog extends JDialog {
             Object[] row = {
                 result.getAlgorithmName(),
                 result.getPathLength(),
-                result.getExecutionTime()
+                result.getPathCost(),
+                result.getExecutionTime(),
+                result.getExpandedNodes()
             };
             tableModel.addRow(row);
         }